@@ -337,6 +337,9 @@ public class DataInitializer implements CommandLineRunner {
         // Create rooms for all hotels
         allHotels.forEach(this::createRoomsForHotel);
         
+        // Starting price and room count follow from the rooms just created
+        hotelRepository.recomputeRoomSummaries();
+        
         System.out.println("Initialized " + allHotels.size() + " hotels with rooms");
     }
 
@@ -350,27 +353,6 @@ public class DataInitializer implements CommandLineRunner {
         hotel.setImageUrl(imageUrl);
         hotel.setAmenities(amenities);
         
-        // Add starting price based on hotel type/rating with whole numbers
-        int minPrice, maxPrice;
-        
-        if (rating >= 4.5) {
-            minPrice = 300;
-            maxPrice = 500; // $300-500 for luxury
-        } else if (rating >= 4.0) {
-            minPrice = 150;
-            maxPrice = 300; // $150-300 for premium
-        } else if (rating >= 3.5) {
-            minPrice = 80;
-            maxPrice = 150; // $80-150 for standard
-        } else {
-            minPrice = 50;
-            maxPrice = 80; // $50-80 for budget
-        }
-        
-        // Generate whole number price
-        int price = minPrice + (int)(Math.random() * (maxPrice - minPrice + 1));
-        hotel.setStartingPrice((double) price);
-        
         return hotel;
     }
 
@@ -0,0 +1,41 @@
+package com.hotel.config;
+
+import com.hotel.service.HotelRanker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint for the search ranking weights, so they can be tuned without a restart:
+ * the weights operation lists them, setWeight sets one signal's weight, and reload re-reads
+ * app.ranking.weights.* from the environment. The write operations are unauthenticated, so
+ * the endpoint is meant for JMX (management.endpoints.jmx.exposure.include, as in the dev
+ * profile) and is not in any profile's web exposure.
+ */
+@Component
+@Endpoint(id = "ranking")
+public class RankingWeightsEndpoint {
+
+    @Autowired
+    private HotelRanker hotelRanker;
+
+    @ReadOperation
+    public Map<String, Double> weights() {
+        return hotelRanker.getWeights();
+    }
+
+    @WriteOperation
+    public Map<String, Double> setWeight(@Selector String signal, double weight) {
+        return hotelRanker.setWeight(signal, weight);
+    }
+
+    @WriteOperation
+    public Map<String, Double> reload() {
+        return hotelRanker.reloadWeights();
+    }
+}
@@ -1,13 +1,18 @@
 package com.hotel.controller;
 
+import com.hotel.dto.DayAvailability;
+import com.hotel.dto.GroupBookingResult;
 import com.hotel.model.Booking;
 import com.hotel.model.Room;
 import com.hotel.model.User;
+import com.hotel.service.BookingPipeline;
 import com.hotel.service.BookingService;
 import com.hotel.service.RoomService;
 import jakarta.servlet.http.HttpSession;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
@@ -18,16 +23,27 @@ import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 @Controller
 public class BookingController {
     
+    private static final int MAX_CALENDAR_DAYS = 90;
+    
     @Autowired
     private BookingService bookingService;
     
     @Autowired
     private RoomService roomService;
 
+    @Autowired
+    private BookingPipeline bookingPipeline;
+
+    @Value("${app.booking.pipeline.poll-seconds:2}")
+    private int pipelinePollSeconds;
+
     @GetMapping("/room/{id}/details")
     public String showRoomDetails(@PathVariable Long id, 
                                  @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate checkIn,
@@ -48,8 +64,15 @@ public class BookingController {
         model.addAttribute("hotel", room.getHotel());
         model.addAttribute("checkIn", checkIn);
         model.addAttribute("checkOut", checkOut);
+        // Sent back with the booking form so a resubmitted form does not book twice
+        model.addAttribute("idempotencyKey", UUID.randomUUID().toString());
 
         if (checkIn != null && checkOut != null) {
+            // Viewing the page only reads the hold; placing one is a POST from the booking form
+            model.addAttribute("hold", bookingService.findHold(user, room, checkIn, checkOut));
+            if (bookingService.isHeldByOther(user, room, checkIn, checkOut)) {
+                model.addAttribute("holdError", "Room is currently held by another guest, please try again later");
+            }
             long nights = ChronoUnit.DAYS.between(checkIn, checkOut);
             BigDecimal totalPrice = room.getPrice().multiply(BigDecimal.valueOf(nights));
             model.addAttribute("nights", nights);
@@ -59,12 +82,76 @@ public class BookingController {
         return "room-details";
     }
 
+    @PostMapping("/room/{id}/hold")
+    public String holdRoom(@PathVariable Long id,
+                           @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate checkIn,
+                           @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate checkOut,
+                           HttpSession session, RedirectAttributes redirectAttributes) {
+        User user = (User) session.getAttribute("user");
+        if (user == null) {
+            return "redirect:/login";
+        }
+
+        Room room = roomService.getRoomById(id);
+        if (room == null) {
+            return "redirect:/";
+        }
+
+        // Keep the room for this user while they fill in the form
+        try {
+            bookingService.holdRoom(user, room, checkIn, checkOut);
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("holdError", e.getMessage());
+        }
+        redirectAttributes.addAttribute("checkIn", checkIn);
+        redirectAttributes.addAttribute("checkOut", checkOut);
+        return "redirect:/room/" + id + "/details";
+    }
+
+    @GetMapping("/room/{id}/calendar")
+    @ResponseBody
+    public ResponseEntity<List<DayAvailability>> roomCalendar(@PathVariable Long id,
+                                                              @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate from,
+                                                              @RequestParam(defaultValue = "30") int days,
+                                                              HttpSession session) {
+        Room room = roomService.getRoomById(id);
+        if (room == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(bookingService.getRoomCalendar(room, calendarStart(from), calendarLength(days), viewerId(session)));
+    }
+
+    @GetMapping("/hotels/{id}/calendar")
+    @ResponseBody
+    public List<DayAvailability> hotelCalendar(@PathVariable Long id,
+                                               @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate from,
+                                               @RequestParam(defaultValue = "30") int days,
+                                               HttpSession session) {
+        return bookingService.getHotelCalendar(id, calendarStart(from), calendarLength(days), viewerId(session));
+    }
+
+    // The signed-in user's own hold is not shown as taken on the calendars
+    private Long viewerId(HttpSession session) {
+        User user = (User) session.getAttribute("user");
+        return user == null ? null : user.getId();
+    }
+
+    private LocalDate calendarStart(LocalDate from) {
+        LocalDate today = LocalDate.now();
+        return from == null || from.isBefore(today) ? today : from;
+    }
+
+    private int calendarLength(int days) {
+        return Math.max(1, Math.min(days, MAX_CALENDAR_DAYS));
+    }
+
     @PostMapping("/book-room")
     public String bookRoom(@RequestParam Long roomId,
                           @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate checkIn,
                           @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate checkOut,
                           @RequestParam Integer guests,
                           @RequestParam(required = false) String specialRequests,
+                          @RequestParam(required = false) String idempotencyKey,
                           HttpSession session,
                           RedirectAttributes redirectAttributes) {
         User user = (User) session.getAttribute("user");
@@ -80,14 +167,13 @@ public class BookingController {
         }
 
         Room room = roomService.getRoomById(roomId);
+        if (room != null && bookingPipeline.isEnabled()) {
+            return submitToPipeline(user, room, checkIn, checkOut, guests, specialRequests, idempotencyKey, redirectAttributes);
+        }
         if (room != null) {
             try {
-                Booking booking = bookingService.createBooking(user, room, checkIn, checkOut, guests, specialRequests);
-                redirectAttributes.addFlashAttribute("success", 
-                    "Booking confirmed! Your Booking ID: " + booking.getId() + 
-                    ". Total Amount: $" + booking.getTotalPrice() +
-                    ". Check your email for confirmation details.");
-                return "redirect:/booking-confirmation/" + booking.getId();
+                Booking booking = bookingService.createBooking(user, room, checkIn, checkOut, guests, specialRequests, idempotencyKey);
+                return bookingConfirmed(booking, redirectAttributes);
             } catch (Exception e) {
                 redirectAttributes.addFlashAttribute("error", "Booking failed: " + e.getMessage());
             }
@@ -98,6 +184,84 @@ public class BookingController {
         return "redirect:/my-bookings";
     }
 
+    private String submitToPipeline(User user, Room room, LocalDate checkIn, LocalDate checkOut, Integer guests,
+                                    String specialRequests, String idempotencyKey, RedirectAttributes redirectAttributes) {
+        try {
+            // The request thread does not wait for the batch; the status page polls for the outcome
+            String token = bookingPipeline.submit(user, room, checkIn, checkOut, guests, specialRequests, idempotencyKey);
+            return "redirect:/booking-status/" + token;
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("error", "Booking failed: " + e.getMessage());
+        }
+        return "redirect:/my-bookings";
+    }
+
+    @GetMapping("/booking-status/{token}")
+    public String bookingStatus(@PathVariable String token, Model model, HttpSession session,
+                                RedirectAttributes redirectAttributes) {
+        User user = (User) session.getAttribute("user");
+        if (user == null) {
+            return "redirect:/login";
+        }
+
+        Optional<CompletableFuture<Booking>> result = bookingPipeline.getResult(token, user.getId());
+        if (result.isEmpty()) {
+            redirectAttributes.addFlashAttribute("error", "Booking request not found!");
+        } else if (!result.get().isDone()) {
+            model.addAttribute("user", user);
+            model.addAttribute("token", token);
+            model.addAttribute("pollSeconds", pipelinePollSeconds);
+            return "booking-status";
+        } else if (result.get().isCompletedExceptionally()) {
+            String message = result.get().handle((booking, e) -> e.getCause() != null ? e.getCause().getMessage() : e.getMessage()).join();
+            redirectAttributes.addFlashAttribute("error", "Booking failed: " + message);
+        } else {
+            return bookingConfirmed(result.get().join(), redirectAttributes);
+        }
+        return "redirect:/my-bookings";
+    }
+
+    private String bookingConfirmed(Booking booking, RedirectAttributes redirectAttributes) {
+        redirectAttributes.addFlashAttribute("success", 
+            "Booking confirmed! Your Booking ID: " + booking.getId() + 
+            ". Total Amount: $" + booking.getTotalPrice() +
+            ". Check your email for confirmation details.");
+        return "redirect:/booking-confirmation/" + booking.getId();
+    }
+
+    @PostMapping("/book-group")
+    public String bookGroup(@RequestParam(required = false) List<Long> roomIds,
+                            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate checkIn,
+                            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate checkOut,
+                            @RequestParam Integer guests,
+                            @RequestParam(required = false) String specialRequests,
+                            @RequestParam(defaultValue = "true") boolean allOrNothing,
+                            HttpSession session,
+                            RedirectAttributes redirectAttributes) {
+        User user = (User) session.getAttribute("user");
+        if (user == null) {
+            return "redirect:/login";
+        }
+
+        try {
+            GroupBookingResult result = bookingService.createGroupBooking(
+                user, roomIds, checkIn, checkOut, guests, specialRequests, allOrNothing);
+            String bookingIds = result.getBookings().stream()
+                .map(booking -> String.valueOf(booking.getId()))
+                .collect(Collectors.joining(", "));
+            String message = "Group booking confirmed for " + result.getBookings().size() + " rooms! " +
+                "Booking IDs: " + bookingIds + ". Total Amount: $" + result.getTotalPrice() + ".";
+            if (!result.isComplete()) {
+                message += " " + result.getRejectedRoomIds().size() + " rooms were no longer available.";
+            }
+            redirectAttributes.addFlashAttribute("success", message);
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("error", "Group booking failed: " + e.getMessage());
+        }
+
+        return "redirect:/my-bookings";
+    }
+
     @GetMapping("/my-bookings")
     public String showMyBookings(Model model, HttpSession session) {
         User user = (User) session.getAttribute("user");
@@ -119,13 +283,11 @@ public class BookingController {
         }
 
         try {
-            // Verify the booking belongs to the user
-            Optional<Booking> bookingOpt = bookingService.getBookingById(bookingId);
-            if (bookingOpt.isPresent() && bookingOpt.get().getUser().getId().equals(user.getId())) {
-                bookingService.cancelBooking(bookingId);
+            // Ownership and status are checked by the cancel statement itself
+            if (bookingService.cancelBooking(bookingId, user.getId()) > 0) {
                 redirectAttributes.addFlashAttribute("success", "Booking cancelled successfully!");
             } else {
-                redirectAttributes.addFlashAttribute("error", "Booking not found or access denied!");
+                redirectAttributes.addFlashAttribute("error", "Booking not found, already cancelled or access denied!");
             }
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("error", "Error cancelling booking: " + e.getMessage());
@@ -1,81 +1,176 @@
 package com.hotel.controller;
 
-import com.hotel.model.Hotel;
-import com.hotel.repository.HotelRepository;
+import com.hotel.dto.HotelAvailabilityPage;
+import com.hotel.dto.HotelAvailabilitySummary;
+import com.hotel.dto.HotelPage;
+import com.hotel.dto.HotelSearchCriteria;
+import com.hotel.dto.HotelSort;
+import com.hotel.dto.NearbyHotel;
+import com.hotel.dto.SearchSuggestion;
+import com.hotel.service.HotelService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Controller
 public class HomeController {
 
     @Autowired
-    private HotelRepository hotelRepository;
+    private HotelService hotelService;
 
     @GetMapping("/")
     public String home(Model model,
                       @RequestParam(required = false) String location,
                       @RequestParam(required = false) Double minRating,
-                      @RequestParam(required = false) String search) {
+                      @RequestParam(required = false) String search,
+                      @RequestParam(required = false) Double minPrice,
+                      @RequestParam(required = false) Double maxPrice,
+                      @RequestParam(required = false) String sort,
+                      @RequestParam(required = false) String cursor,
+                      @RequestParam(required = false) Integer size) {
         
-        List<Hotel> hotels;
+        HotelSearchCriteria criteria = criteria(location, minRating, search, minPrice, maxPrice, null, sort);
+        HotelPage page = hotelService.searchHotels(criteria, cursor, size);
         
-        if (location != null && !location.trim().isEmpty()) {
-            hotels = hotelRepository.findByLocationContainingIgnoreCase(location);
-        } else if (minRating != null) {
-            hotels = hotelRepository.findByRatingGreaterThanEqual(minRating);
-        } else if (search != null && !search.trim().isEmpty()) {
-            hotels = hotelRepository.findByNameContainingIgnoreCase(search);
-        } else {
-            hotels = hotelRepository.findAll();
-        }
-        
-        model.addAttribute("hotels", hotels);
-        model.addAttribute("totalHotels", hotelRepository.count());
-        model.addAttribute("searchQuery", search);
-        model.addAttribute("location", location);
-        model.addAttribute("minRating", minRating);
+        addSearchAttributes(model, criteria, page, cursor, size);
+        model.addAttribute("totalHotels", hotelService.getTotalHotels());
         
         return "index";
     }
 
     @GetMapping("/search")
-    public String searchHotels(@RequestParam String query, Model model) {
-        List<Hotel> hotels = hotelRepository.findByNameContainingIgnoreCase(query);
-        model.addAttribute("hotels", hotels);
-        model.addAttribute("searchQuery", query);
-        model.addAttribute("totalHotels", hotels.size());
+    public String searchHotels(@RequestParam String query, Model model,
+                               @RequestParam(required = false) String sort,
+                               @RequestParam(required = false) String cursor,
+                               @RequestParam(required = false) Integer size) {
+        // Same capped, paged search as the home page, with the query as the text criterion
+        HotelSearchCriteria criteria = criteria(null, null, query, null, null, null, sort);
+        HotelPage page = hotelService.searchHotels(criteria, cursor, size);
+        
+        addSearchAttributes(model, criteria, page, cursor, size);
+        model.addAttribute("totalHotels", hotelService.getTotalHotels());
         return "index";
     }
 
+    @GetMapping("/api/suggest")
+    @ResponseBody
+    public ResponseEntity<List<SearchSuggestion>> suggest(@RequestParam(defaultValue = "") String q,
+                                                          @RequestParam(defaultValue = "8") int limit) {
+        // Results only change with the catalog, so let the browser reuse them briefly
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.maxAge(60, TimeUnit.SECONDS))
+            .body(hotelService.suggest(q, limit));
+    }
+
+    @GetMapping("/api/hotels/nearby")
+    @ResponseBody
+    public ResponseEntity<List<NearbyHotel>> nearbyHotels(@RequestParam double lat,
+                                                          @RequestParam double lon,
+                                                          @RequestParam(defaultValue = "5") double radiusKm,
+                                                          @RequestParam(defaultValue = "20") int limit) {
+        if (!isCoordinate(lat, lon) || radiusKm <= 0 || limit <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(hotelService.findNearby(lat, lon, radiusKm, limit));
+    }
+
+    @GetMapping("/api/hotels/in-box")
+    @ResponseBody
+    public ResponseEntity<List<NearbyHotel>> hotelsInBox(@RequestParam double minLat,
+                                                         @RequestParam double minLon,
+                                                         @RequestParam double maxLat,
+                                                         @RequestParam double maxLon,
+                                                         @RequestParam(defaultValue = "50") int limit) {
+        if (!isCoordinate(minLat, minLon) || !isCoordinate(maxLat, maxLon) || minLat > maxLat || limit <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(hotelService.findInBox(minLat, minLon, maxLat, maxLon, limit));
+    }
+
+    private static boolean isCoordinate(double latitude, double longitude) {
+        return latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180;
+    }
+
     @GetMapping("/hotels")
     public String browseHotels(Model model,
                               @RequestParam(required = false) String location,
                               @RequestParam(required = false) Double minRating,
-                              @RequestParam(required = false) String search) {
+                              @RequestParam(required = false) String search,
+                              @RequestParam(required = false) Double minPrice,
+                              @RequestParam(required = false) Double maxPrice,
+                              @RequestParam(required = false) String sort,
+                              @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate checkIn,
+                              @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate checkOut,
+                              @RequestParam(required = false) List<String> amenities,
+                              @RequestParam(required = false) String cursor,
+                              @RequestParam(required = false) Integer size) {
         
-        List<Hotel> hotels;
+        HotelSearchCriteria criteria = criteria(location, minRating, search, minPrice, maxPrice, amenities, sort);
+        HotelPage page;
         
-        if (location != null && !location.trim().isEmpty()) {
-            hotels = hotelRepository.findByLocationContainingIgnoreCase(location);
-        } else if (minRating != null) {
-            hotels = hotelRepository.findByRatingGreaterThanEqual(minRating);
-        } else if (search != null && !search.trim().isEmpty()) {
-            hotels = hotelRepository.findByNameContainingIgnoreCase(search);
+        if (criteria.getLocation() != null && checkIn != null && checkOut != null && checkOut.isAfter(checkIn)) {
+            // Availability search: only hotels with a free room for the stay
+            List<HotelAvailabilitySummary> matching = hotelService.searchAvailableHotels(criteria, checkIn, checkOut);
+            HotelAvailabilityPage available = hotelService.pageAvailableHotels(matching, criteria, cursor, size);
+            page = new HotelPage(available.getSummaries().stream().map(HotelAvailabilitySummary::getHotel).toList(),
+                                 available.getNextCursor());
+            model.addAttribute("availability", available.getSummaries().stream()
+                .collect(Collectors.toMap(HotelAvailabilitySummary::getHotelId, Function.identity())));
+            // Facets count every available hotel, not just this page
+            model.addAttribute("facets", hotelService.facetsOf(
+                matching.stream().map(HotelAvailabilitySummary::getHotel).toList()));
         } else {
-            hotels = hotelRepository.findAll();
+            page = hotelService.searchHotels(criteria, cursor, size);
+            model.addAttribute("facets", hotelService.getFacets(criteria));
         }
         
-        model.addAttribute("hotels", hotels);
-        model.addAttribute("totalHotels", hotelRepository.count());
-        model.addAttribute("searchQuery", search);
-        model.addAttribute("location", location);
-        model.addAttribute("minRating", minRating);
+        addSearchAttributes(model, criteria, page, cursor, size);
+        model.addAttribute("totalHotels", hotelService.getTotalHotels());
+        model.addAttribute("amenityOptions", hotelService.getAmenityOptions(page.getHotels()));
+        model.addAttribute("selectedAmenities", criteria.getAmenities());
+        model.addAttribute("checkIn", checkIn);
+        model.addAttribute("checkOut", checkOut);
         
         return "hotels";
     }
-}
\ No newline at end of file
+
+    private static HotelSearchCriteria criteria(String location, Double minRating, String search, Double minPrice,
+                                                Double maxPrice, List<String> amenities, String sort) {
+        HotelSearchCriteria criteria = new HotelSearchCriteria();
+        criteria.setLocation(location);
+        criteria.setMinRating(minRating);
+        criteria.setText(search);
+        criteria.setMinPrice(minPrice);
+        criteria.setMaxPrice(maxPrice);
+        criteria.setAmenities(amenities);
+        criteria.setSort(HotelSort.parse(sort));
+        return criteria;
+    }
+
+    private static void addSearchAttributes(Model model, HotelSearchCriteria criteria, HotelPage page,
+                                            String cursor, Integer size) {
+        model.addAttribute("hotels", page.getHotels());
+        model.addAttribute("nextCursor", page.getNextCursor());
+        model.addAttribute("cursor", cursor);
+        model.addAttribute("size", size);
+        model.addAttribute("searchQuery", criteria.getText());
+        model.addAttribute("location", criteria.getLocation());
+        model.addAttribute("minRating", criteria.getMinRating());
+        model.addAttribute("minPrice", criteria.getMinPrice());
+        model.addAttribute("maxPrice", criteria.getMaxPrice());
+        model.addAttribute("sort", criteria.getSort().name().toLowerCase(Locale.ROOT));
+    }
+}
@@ -14,6 +14,8 @@ import org.springframework.web.bind.annotation.RequestParam;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 
 @Controller
 public class HotelController {
@@ -30,13 +32,20 @@ public class HotelController {
                                 @RequestParam(required = false) String checkOut,
                                 @RequestParam(required = false) String roomType,
                                 @RequestParam(required = false) Double maxPrice,
+                                @RequestParam(required = false) Integer guests,
+                                @RequestParam(required = false) List<String> amenities,
                                 Model model) {
         
         Hotel hotel = hotelService.getHotelById(id);
         
         if (hotel != null) {
             // Use the new filtering method that handles dates and availability
-            List<Room> rooms = roomService.getFilteredRooms(id, checkIn, checkOut, roomType, maxPrice);
+            List<Room> rooms = roomService.getFilteredRooms(id, checkIn, checkOut, roomType, maxPrice, guests);
+            
+            // Amenity choices come from the rooms listed before the amenity filter
+            Set<String> amenityOptions = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+            rooms.forEach(room -> amenityOptions.addAll(room.getAmenityList()));
+            rooms = roomService.filterByAmenities(rooms, amenities);
             
             // Calculate nights if dates are provided
             int nights = 0;
@@ -49,6 +58,10 @@ public class HotelController {
                     parsedCheckOut = LocalDate.parse(checkOut);
                     nights = (int) ChronoUnit.DAYS.between(parsedCheckIn, parsedCheckOut);
                     nights = Math.max(nights, 1); // Ensure at least 1 night
+                    if (parsedCheckOut.isAfter(parsedCheckIn)) {
+                        model.addAttribute("typeAvailability",
+                            roomService.getAvailableCountsByType(id, parsedCheckIn, parsedCheckOut));
+                    }
                 } catch (Exception e) {
                     // Handle date parsing errors
                     nights = 1;
@@ -63,6 +76,9 @@ public class HotelController {
             model.addAttribute("parsedCheckOut", parsedCheckOut); // Add parsed dates if needed
             model.addAttribute("roomType", roomType);
             model.addAttribute("maxPrice", maxPrice);
+            model.addAttribute("guests", guests);
+            model.addAttribute("amenityOptions", amenityOptions);
+            model.addAttribute("selectedAmenities", amenities == null ? List.of() : amenities);
             model.addAttribute("nights", nights);
             
             return "hotel-rooms";
@@ -0,0 +1,24 @@
+package com.hotel.dto;
+
+import java.time.LocalDate;
+
+/**
+ * One day of an availability calendar: how many rooms are free for the night starting on
+ * {@code date}. For a single-room calendar this is 0 or 1.
+ */
+public class DayAvailability {
+
+    private final LocalDate date;
+    private final int freeRooms;
+
+    public DayAvailability(LocalDate date, int freeRooms) {
+        this.date = date;
+        this.freeRooms = freeRooms;
+    }
+
+    public LocalDate getDate() { return date; }
+
+    public int getFreeRooms() { return freeRooms; }
+
+    public boolean isAvailable() { return freeRooms > 0; }
+}
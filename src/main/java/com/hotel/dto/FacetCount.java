@@ -0,0 +1,33 @@
+package com.hotel.dto;
+
+/**
+ * One facet value with the number of matching hotels. {@code value} is the filter value to
+ * apply (a location or room type); range facets carry their bounds in {@code min}/{@code max}
+ * instead, either of which may be open.
+ */
+public class FacetCount {
+
+    private final String label;
+    private final String value;
+    private final Double min;
+    private final Double max;
+    private final long count;
+
+    public FacetCount(String label, String value, Double min, Double max, long count) {
+        this.label = label;
+        this.value = value;
+        this.min = min;
+        this.max = max;
+        this.count = count;
+    }
+
+    public String getLabel() { return label; }
+
+    public String getValue() { return value; }
+
+    public Double getMin() { return min; }
+
+    public Double getMax() { return max; }
+
+    public long getCount() { return count; }
+}
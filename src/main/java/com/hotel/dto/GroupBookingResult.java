@@ -0,0 +1,35 @@
+package com.hotel.dto;
+
+import com.hotel.model.Booking;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Outcome of a multi-room booking: the bookings that were committed and the rooms that
+ * could not be booked (only non-empty in best-effort mode).
+ */
+public class GroupBookingResult {
+
+    private final List<Booking> bookings;
+    private final List<Long> rejectedRoomIds;
+
+    public GroupBookingResult(List<Booking> bookings, List<Long> rejectedRoomIds) {
+        this.bookings = List.copyOf(bookings);
+        this.rejectedRoomIds = List.copyOf(rejectedRoomIds);
+    }
+
+    public List<Booking> getBookings() { return bookings; }
+
+    public List<Long> getRejectedRoomIds() { return rejectedRoomIds; }
+
+    public BigDecimal getTotalPrice() {
+        return bookings.stream()
+            .map(Booking::getTotalPrice)
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    public boolean isComplete() {
+        return rejectedRoomIds.isEmpty();
+    }
+}
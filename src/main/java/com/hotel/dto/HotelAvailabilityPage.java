@@ -0,0 +1,23 @@
+package com.hotel.dto;
+
+import java.util.List;
+
+/**
+ * One page of an availability search plus the opaque cursor of the next page (null on the last page).
+ */
+public class HotelAvailabilityPage {
+
+    private final List<HotelAvailabilitySummary> summaries;
+    private final String nextCursor;
+
+    public HotelAvailabilityPage(List<HotelAvailabilitySummary> summaries, String nextCursor) {
+        this.summaries = List.copyOf(summaries);
+        this.nextCursor = nextCursor;
+    }
+
+    public List<HotelAvailabilitySummary> getSummaries() { return summaries; }
+
+    public String getNextCursor() { return nextCursor; }
+
+    public boolean hasNext() { return nextCursor != null; }
+}
@@ -0,0 +1,32 @@
+package com.hotel.dto;
+
+import com.hotel.model.Hotel;
+
+import java.math.BigDecimal;
+
+/**
+ * Free-room count and cheapest free nightly price of one hotel for a given stay.
+ */
+public class HotelAvailabilitySummary {
+
+    private final Long hotelId;
+    private final long freeRooms;
+    private final BigDecimal cheapestPrice;
+    private Hotel hotel;
+
+    // Used by the JPQL constructor expression in RoomRepository
+    public HotelAvailabilitySummary(Long hotelId, Long freeRooms, BigDecimal cheapestPrice) {
+        this.hotelId = hotelId;
+        this.freeRooms = freeRooms;
+        this.cheapestPrice = cheapestPrice;
+    }
+
+    public Long getHotelId() { return hotelId; }
+
+    public long getFreeRooms() { return freeRooms; }
+
+    public BigDecimal getCheapestPrice() { return cheapestPrice; }
+
+    public Hotel getHotel() { return hotel; }
+    public void setHotel(Hotel hotel) { this.hotel = hotel; }
+}
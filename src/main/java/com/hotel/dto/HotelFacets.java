@@ -0,0 +1,36 @@
+package com.hotel.dto;
+
+import java.util.List;
+
+/**
+ * Facet counts over every hotel matching a search, not just the page shown.
+ */
+public class HotelFacets {
+
+    private final long total;
+    private final List<FacetCount> locations;
+    private final List<FacetCount> ratings;
+    private final List<FacetCount> prices;
+    private final List<FacetCount> roomTypes;
+
+    public HotelFacets(long total, List<FacetCount> locations, List<FacetCount> ratings,
+                       List<FacetCount> prices, List<FacetCount> roomTypes) {
+        this.total = total;
+        this.locations = locations;
+        this.ratings = ratings;
+        this.prices = prices;
+        this.roomTypes = roomTypes;
+    }
+
+    public long getTotal() { return total; }
+
+    public List<FacetCount> getLocations() { return locations; }
+
+    // Cumulative: a 4.7 hotel counts towards "4.5+" and every lower threshold
+    public List<FacetCount> getRatings() { return ratings; }
+
+    public List<FacetCount> getPrices() { return prices; }
+
+    // Hotels with at least one available room of each type
+    public List<FacetCount> getRoomTypes() { return roomTypes; }
+}
@@ -0,0 +1,25 @@
+package com.hotel.dto;
+
+import com.hotel.model.Hotel;
+
+import java.util.List;
+
+/**
+ * One page of a hotel listing plus the opaque cursor of the next page (null on the last page).
+ */
+public class HotelPage {
+
+    private final List<Hotel> hotels;
+    private final String nextCursor;
+
+    public HotelPage(List<Hotel> hotels, String nextCursor) {
+        this.hotels = List.copyOf(hotels);
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Hotel> getHotels() { return hotels; }
+
+    public String getNextCursor() { return nextCursor; }
+
+    public boolean hasNext() { return nextCursor != null; }
+}
@@ -0,0 +1,52 @@
+package com.hotel.dto;
+
+import java.util.List;
+
+/**
+ * Filters for the combined hotel search. Every criterion is optional and all given ones apply
+ * together; {@code text} matches name, location, description or amenities.
+ */
+public class HotelSearchCriteria {
+
+    private String location;
+    private String text;
+    private Double minRating;
+    private Double minPrice;
+    private Double maxPrice;
+    private List<String> amenities;
+    private HotelSort sort;
+
+    public HotelSearchCriteria() {}
+
+    // Getters and Setters
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = trimToNull(location); }
+
+    public String getText() { return text; }
+    public void setText(String text) { this.text = trimToNull(text); }
+
+    public Double getMinRating() { return minRating; }
+    public void setMinRating(Double minRating) { this.minRating = minRating; }
+
+    public Double getMinPrice() { return minPrice; }
+    public void setMinPrice(Double minPrice) { this.minPrice = minPrice; }
+
+    public Double getMaxPrice() { return maxPrice; }
+    public void setMaxPrice(Double maxPrice) { this.maxPrice = maxPrice; }
+
+    public List<String> getAmenities() { return amenities == null ? List.of() : amenities; }
+    public void setAmenities(List<String> amenities) { this.amenities = amenities; }
+
+    // Relevance when searching text, otherwise best rated first
+    public HotelSort getSort() {
+        if (sort == null || (sort == HotelSort.RELEVANCE && text == null)) {
+            return text != null ? HotelSort.RELEVANCE : HotelSort.RATING;
+        }
+        return sort;
+    }
+    public void setSort(HotelSort sort) { this.sort = sort; }
+
+    private static String trimToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
@@ -0,0 +1,51 @@
+package com.hotel.dto;
+
+import com.hotel.model.Hotel;
+
+import java.util.Locale;
+
+/**
+ * Orders for the hotel listings. Hotels without a value for the sorted field always come last,
+ * and id breaks ties so every order is total and can be paged by keyset.
+ */
+public enum HotelSort {
+
+    RATING("rating", true),
+    PRICE_LOW("startingPrice", false),
+    PRICE_HIGH("startingPrice", true),
+    // Full-text score; only meaningful with a text query and not paged
+    RELEVANCE(null, true);
+
+    private final String field;
+    private final boolean descending;
+
+    HotelSort(String field, boolean descending) {
+        this.field = field;
+        this.descending = descending;
+    }
+
+    // Entity attribute sorted on
+    public String getField() {
+        return field;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    public Double keyOf(Hotel hotel) {
+        return this == RATING ? hotel.getRating() : hotel.getStartingPrice();
+    }
+
+    // Lenient parse of a request parameter such as "price_low"; null when absent or unknown
+    public static HotelSort parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
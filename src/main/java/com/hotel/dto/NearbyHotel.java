@@ -0,0 +1,45 @@
+package com.hotel.dto;
+
+import com.hotel.model.Hotel;
+
+/**
+ * A hotel found by a geographic search, with its distance from the search point in km.
+ */
+public class NearbyHotel {
+
+    private final Long hotelId;
+    private final String name;
+    private final String location;
+    private final Double rating;
+    private final Double startingPrice;
+    private final double latitude;
+    private final double longitude;
+    private final double distanceKm;
+
+    public NearbyHotel(Hotel hotel, double distanceKm) {
+        this.hotelId = hotel.getId();
+        this.name = hotel.getName();
+        this.location = hotel.getLocation();
+        this.rating = hotel.getRating();
+        this.startingPrice = hotel.getStartingPrice();
+        this.latitude = hotel.getLatitude();
+        this.longitude = hotel.getLongitude();
+        this.distanceKm = distanceKm;
+    }
+
+    public Long getHotelId() { return hotelId; }
+
+    public String getName() { return name; }
+
+    public String getLocation() { return location; }
+
+    public Double getRating() { return rating; }
+
+    public Double getStartingPrice() { return startingPrice; }
+
+    public double getLatitude() { return latitude; }
+
+    public double getLongitude() { return longitude; }
+
+    public double getDistanceKm() { return distanceKm; }
+}
@@ -0,0 +1,39 @@
+package com.hotel.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A short-lived reservation of one room for one user's stay, placed while the user fills in
+ * the booking form. Other users cannot book the room for overlapping nights until it expires.
+ */
+public class RoomHold {
+
+    private final Long userId;
+    private final Long roomId;
+    private final LocalDate checkInDate;
+    private final LocalDate checkOutDate;
+    private final LocalDateTime expiresAt;
+
+    public RoomHold(Long userId, Long roomId, LocalDate checkInDate, LocalDate checkOutDate, LocalDateTime expiresAt) {
+        this.userId = userId;
+        this.roomId = roomId;
+        this.checkInDate = checkInDate;
+        this.checkOutDate = checkOutDate;
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getUserId() { return userId; }
+
+    public Long getRoomId() { return roomId; }
+
+    public LocalDate getCheckInDate() { return checkInDate; }
+
+    public LocalDate getCheckOutDate() { return checkOutDate; }
+
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+
+    public boolean overlaps(LocalDate otherCheckIn, LocalDate otherCheckOut) {
+        return checkInDate.isBefore(otherCheckOut) && otherCheckIn.isBefore(checkOutDate);
+    }
+}
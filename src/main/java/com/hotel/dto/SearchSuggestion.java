@@ -0,0 +1,27 @@
+package com.hotel.dto;
+
+/**
+ * One typeahead suggestion: a hotel (with its id) or a city (hotelId is null).
+ */
+public class SearchSuggestion {
+
+    private final String text;
+    private final String type;
+    private final Long hotelId;
+    private final Double rating;
+
+    public SearchSuggestion(String text, String type, Long hotelId, Double rating) {
+        this.text = text;
+        this.type = type;
+        this.hotelId = hotelId;
+        this.rating = rating;
+    }
+
+    public String getText() { return text; }
+
+    public String getType() { return type; }
+
+    public Long getHotelId() { return hotelId; }
+
+    public Double getRating() { return rating; }
+}
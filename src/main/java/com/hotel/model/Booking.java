@@ -7,7 +7,10 @@ import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+    // Overlap probe of the availability queries: confirmed bookings of one room by stay dates
+    @Index(name = "idx_bookings_room_status_dates", columnList = "room_id, status, check_in_date, check_out_date")
+})
 public class Booking {
     
     @Id
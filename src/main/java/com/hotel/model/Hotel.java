@@ -2,6 +2,7 @@ package com.hotel.model;
 
 import jakarta.persistence.*;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 @Entity
@@ -28,9 +29,23 @@ public class Hotel {
     
     private String amenities;
     
+    // Cheapest bookable room and number of bookable rooms, kept in sync with the rooms table
+    // by HotelRepository.recomputeRoomSummary instead of aggregating on every listing
     @Column(name = "starting_price")
     private Double startingPrice;
     
+    @Column(name = "room_count")
+    private Integer roomCount;
+    
+    // WGS84 coordinates in degrees; null when the hotel has not been placed on the map
+    private Double latitude;
+    
+    private Double longitude;
+    
+    // amenities split once per value, for rendering and amenity filters
+    @Transient
+    private List<String> amenityList;
+    
     @OneToMany(mappedBy = "hotel", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Room> rooms = new ArrayList<>();
     
@@ -63,11 +78,33 @@ public class Hotel {
     public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
     
     public String getAmenities() { return amenities; }
-    public void setAmenities(String amenities) { this.amenities = amenities; }
+    public void setAmenities(String amenities) { 
+        this.amenities = amenities; 
+        this.amenityList = null;
+    }
+    
+    public List<String> getAmenityList() {
+        if (amenityList == null) {
+            amenityList = amenities == null ? List.of() : Arrays.stream(amenities.split(","))
+                .map(String::trim)
+                .filter(amenity -> !amenity.isEmpty())
+                .toList();
+        }
+        return amenityList;
+    }
     
     public Double getStartingPrice() { return startingPrice; }
     public void setStartingPrice(Double startingPrice) { this.startingPrice = startingPrice; }
     
+    public Integer getRoomCount() { return roomCount; }
+    public void setRoomCount(Integer roomCount) { this.roomCount = roomCount; }
+    
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+    
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+    
     public List<Room> getRooms() { return rooms; }
     public void setRooms(List<Room> rooms) { this.rooms = rooms; }
     
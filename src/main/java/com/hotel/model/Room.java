@@ -2,9 +2,15 @@ package com.hotel.model;
 
 import jakarta.persistence.*;
 import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
 
 @Entity
-@Table(name = "rooms")
+@Table(name = "rooms", indexes = {
+    // Serves the hotel room listing: equality on hotel, availability and type, range on price
+    @Index(name = "idx_rooms_hotel_available_type_price", columnList = "hotel_id, available, type, price")
+})
 public class Room {
     
     @Id
@@ -39,6 +45,15 @@ public class Room {
     @JoinColumn(name = "hotel_id", nullable = false)
     private Hotel hotel;
     
+    // amenities split once per value, for rendering and amenity filters
+    @Transient
+    private List<String> amenityList;
+    
+    // Bumped on every booking commit for this room; guards against double-booking across instances
+    @Version
+    @Column(nullable = false)
+    private Long version = 0L;
+    
     // Constructors
     public Room() {}
     
@@ -70,7 +85,20 @@ public class Room {
     public void setDescription(String description) { this.description = description; }
     
     public String getAmenities() { return amenities; }
-    public void setAmenities(String amenities) { this.amenities = amenities; }
+    public void setAmenities(String amenities) { 
+        this.amenities = amenities; 
+        this.amenityList = null;
+    }
+    
+    public List<String> getAmenityList() {
+        if (amenityList == null) {
+            amenityList = amenities == null ? List.of() : Arrays.stream(amenities.split(","))
+                .map(String::trim)
+                .filter(amenity -> !amenity.isEmpty())
+                .toList();
+        }
+        return amenityList;
+    }
     
     public String getImageUrl() { return imageUrl; }
     public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
@@ -81,7 +109,19 @@ public class Room {
     public Hotel getHotel() { return hotel; }
     public void setHotel(Hotel hotel) { this.hotel = hotel; }
     
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+    
     // Helper methods
+    // Types are stored upper case so type filters can compare with plain, indexable equality
+    @PrePersist
+    @PreUpdate
+    public void normalizeType() {
+        if (this.type != null) {
+            this.type = this.type.trim().toUpperCase(Locale.ROOT);
+        }
+    }
+    
     public boolean isAvailableForDates(java.time.LocalDate checkIn, java.time.LocalDate checkOut) {
         return this.available;
     }
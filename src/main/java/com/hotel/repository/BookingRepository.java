@@ -1,14 +1,102 @@
 package com.hotel.repository;
 
 import com.hotel.model.Booking;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+    // The my-bookings page shows each booking's room and hotel: load them in the same select
+    @EntityGraph(attributePaths = {"room", "room.hotel"})
     List<Booking> findByUserIdOrderByCreatedAtDesc(Long userId);
+    
+    // findById with room and hotel fetched, for the confirmation page
+    @EntityGraph(attributePaths = {"room", "room.hotel"})
+    Optional<Booking> findWithRoomAndHotelById(Long id);
+    
     List<Booking> findByRoomId(Long roomId);
     List<Booking> findByStatus(String status);
-}
\ No newline at end of file
+    
+    // Point availability check for a single room: true if a CONFIRMED stay overlaps the range
+    @Query("SELECT COUNT(b) > 0 FROM Booking b WHERE b.room.id = :roomId " +
+           "AND b.status = 'CONFIRMED' " +
+           "AND b.checkInDate < :checkOut AND b.checkOutDate > :checkIn")
+    boolean existsOverlappingBooking(@Param("roomId") Long roomId,
+                                     @Param("checkIn") LocalDate checkIn,
+                                     @Param("checkOut") LocalDate checkOut);
+    
+    // Set-based variant of the overlap check: which of these rooms have a CONFIRMED stay in the range
+    @Query("SELECT DISTINCT b.room.id FROM Booking b WHERE b.room.id IN :roomIds " +
+           "AND b.status = 'CONFIRMED' " +
+           "AND b.checkInDate < :checkOut AND b.checkOutDate > :checkIn")
+    List<Long> findRoomIdsWithOverlappingBookings(@Param("roomIds") Collection<Long> roomIds,
+                                                  @Param("checkIn") LocalDate checkIn,
+                                                  @Param("checkOut") LocalDate checkOut);
+    
+    // Calendar range scans: CONFIRMED stays overlapping [from, to) as [checkIn, checkOut]
+    @Query("SELECT b.checkInDate, b.checkOutDate FROM Booking b WHERE b.room.id = :roomId " +
+           "AND b.status = 'CONFIRMED' " +
+           "AND b.checkInDate < :to AND b.checkOutDate > :from")
+    List<Object[]> findConfirmedStaysForRoom(@Param("roomId") Long roomId,
+                                             @Param("from") LocalDate from,
+                                             @Param("to") LocalDate to);
+    
+    @Query("SELECT b.room.id, b.checkInDate, b.checkOutDate FROM Booking b WHERE b.room.id IN :roomIds " +
+           "AND b.status = 'CONFIRMED' " +
+           "AND b.checkInDate < :to AND b.checkOutDate > :from")
+    List<Object[]> findConfirmedStaysForRooms(@Param("roomIds") Collection<Long> roomIds,
+                                              @Param("from") LocalDate from,
+                                              @Param("to") LocalDate to);
+    
+    @Query("SELECT b.checkInDate, b.checkOutDate FROM Booking b WHERE b.room.hotel.id = :hotelId " +
+           "AND b.room.available = true AND b.status = 'CONFIRMED' " +
+           "AND b.checkInDate < :to AND b.checkOutDate > :from")
+    List<Object[]> findConfirmedStaysForHotel(@Param("hotelId") Long hotelId,
+                                              @Param("from") LocalDate from,
+                                              @Param("to") LocalDate to);
+    
+    // Confirmed stays still relevant on or after the given day: [roomId, checkIn, checkOut]
+    @Query("SELECT b.room.id, b.checkInDate, b.checkOutDate FROM Booking b " +
+           "WHERE b.status = 'CONFIRMED' AND b.checkOutDate > :from")
+    List<Object[]> findConfirmedStaysEndingAfter(@Param("from") LocalDate from);
+    
+    // Same as above, keyed by hotel and room type: [hotelId, type, checkIn, checkOut]
+    @Query("SELECT b.room.hotel.id, UPPER(b.room.type), b.checkInDate, b.checkOutDate FROM Booking b " +
+           "WHERE b.status = 'CONFIRMED' AND b.room.available = true AND b.checkOutDate > :from")
+    List<Object[]> findConfirmedTypeStaysEndingAfter(@Param("from") LocalDate from);
+    
+    // Cancels in one statement: ownership (unless userId is null) and status are checked by the WHERE clause
+    @Modifying
+    @Transactional
+    @Query("UPDATE Booking b SET b.status = 'CANCELLED' WHERE b.id = :id " +
+           "AND b.status = 'CONFIRMED' AND (:userId IS NULL OR b.user.id = :userId)")
+    int cancelIfConfirmed(@Param("id") Long id, @Param("userId") Long userId);
+    
+    // What the in-memory availability structures need to know about a stay: [roomId, hotelId, type, checkIn, checkOut]
+    @Query("SELECT b.room.id, b.room.hotel.id, b.room.type, b.checkInDate, b.checkOutDate " +
+           "FROM Booking b WHERE b.id = :id")
+    List<Object[]> findStayById(@Param("id") Long id);
+    
+    // Keyset page of CONFIRMED bookings that checked out before the given day, in id order after afterId
+    @Query("SELECT b.id FROM Booking b WHERE b.status = 'CONFIRMED' AND b.checkOutDate < :before " +
+           "AND b.id > :afterId ORDER BY b.id")
+    List<Long> findConfirmedIdsCheckedOutBefore(@Param("before") LocalDate before,
+                                                @Param("afterId") Long afterId,
+                                                Pageable pageable);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE Booking b SET b.status = 'COMPLETED' WHERE b.id IN :ids AND b.status = 'CONFIRMED'")
+    int completeConfirmed(@Param("ids") Collection<Long> ids);
+}
@@ -2,14 +2,17 @@ package com.hotel.repository;
 
 import com.hotel.model.Hotel;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Repository
-public interface HotelRepository extends JpaRepository<Hotel, Long> {
+public interface HotelRepository extends JpaRepository<Hotel, Long>, JpaSpecificationExecutor<Hotel> {
     
     // Find hotels by location (case-insensitive)
     List<Hotel> findByLocationContainingIgnoreCase(String location);
@@ -23,6 +26,10 @@ public interface HotelRepository extends JpaRepository<Hotel, Long> {
     // Find top 10 hotels by rating
     List<Hotel> findTop10ByOrderByRatingDesc();
     
+    // Hotels inside a latitude/longitude box, for geographic search without the grid index
+    List<Hotel> findByLatitudeBetweenAndLongitudeBetween(Double minLatitude, Double maxLatitude,
+                                                         Double minLongitude, Double maxLongitude);
+    
     // Advanced search combining multiple fields
     @Query("SELECT h FROM Hotel h WHERE " +
            "LOWER(h.name) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
@@ -30,4 +37,21 @@ public interface HotelRepository extends JpaRepository<Hotel, Long> {
            "LOWER(h.description) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
            "LOWER(h.amenities) LIKE LOWER(CONCAT('%', :query, '%'))")
     List<Hotel> comprehensiveSearch(@Param("query") String query);
+    
+    // Sets starting price and room count of every hotel from its bookable rooms, in one statement
+    @Modifying
+    @Transactional
+    @Query("UPDATE Hotel h SET " +
+           "h.startingPrice = (SELECT CAST(MIN(r.price) AS Double) FROM Room r WHERE r.hotel = h AND r.available = true), " +
+           "h.roomCount = (SELECT CAST(COUNT(r) AS Integer) FROM Room r WHERE r.hotel = h AND r.available = true)")
+    int recomputeRoomSummaries();
+    
+    // Same for one hotel, after one of its rooms changed
+    @Modifying
+    @Transactional
+    @Query("UPDATE Hotel h SET " +
+           "h.startingPrice = (SELECT CAST(MIN(r.price) AS Double) FROM Room r WHERE r.hotel = h AND r.available = true), " +
+           "h.roomCount = (SELECT CAST(COUNT(r) AS Integer) FROM Room r WHERE r.hotel = h AND r.available = true) " +
+           "WHERE h.id = :hotelId")
+    int recomputeRoomSummary(@Param("hotelId") Long hotelId);
 }
\ No newline at end of file
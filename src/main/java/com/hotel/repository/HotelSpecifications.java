@@ -0,0 +1,92 @@
+package com.hotel.repository;
+
+import com.hotel.dto.HotelSearchCriteria;
+import com.hotel.dto.HotelSort;
+import com.hotel.model.Hotel;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Query fragments for the paged hotel listings. Pages are read in {@link #order} and continue
+ * with {@link #after}, a keyset condition, so deep pages cost the same as the first one
+ * instead of scanning and discarding OFFSET rows.
+ */
+public final class HotelSpecifications {
+
+    private HotelSpecifications() {
+    }
+
+    // The sort's field in its direction with missing values last, then id as the tiebreak
+    public static Sort order(HotelSort sort) {
+        Sort.Order byKey = sort.isDescending() ? Sort.Order.desc(sort.getField()) : Sort.Order.asc(sort.getField());
+        return Sort.by(byKey.nullsLast(), Sort.Order.asc("id"));
+    }
+
+    // Hotels strictly after (key, id) in order(sort); a null key is the tail without a value
+    public static Specification<Hotel> after(HotelSort sort, Double key, long id) {
+        return (root, query, cb) -> {
+            Path<Double> field = root.get(sort.getField());
+            if (key == null) {
+                return cb.and(cb.isNull(field), cb.greaterThan(root.get("id"), id));
+            }
+            return cb.or(
+                sort.isDescending() ? cb.lessThan(field, key) : cb.greaterThan(field, key),
+                cb.and(cb.equal(field, key), cb.greaterThan(root.get("id"), id)),
+                cb.isNull(field));
+        };
+    }
+
+    // Every criterion given, in one WHERE clause
+    public static Specification<Hotel> matching(HotelSearchCriteria criteria) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (criteria.getLocation() != null) {
+                predicates.add(cb.like(cb.lower(root.get("location")), pattern(criteria.getLocation()), '\\'));
+            }
+            if (criteria.getText() != null) {
+                String text = pattern(criteria.getText());
+                predicates.add(cb.or(
+                    cb.like(cb.lower(root.get("name")), text, '\\'),
+                    cb.like(cb.lower(root.get("location")), text, '\\'),
+                    cb.like(cb.lower(root.get("description")), text, '\\'),
+                    cb.like(cb.lower(root.get("amenities")), text, '\\')));
+            }
+            if (criteria.getMinRating() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("rating"), criteria.getMinRating()));
+            }
+            if (criteria.getMinPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("startingPrice"), criteria.getMinPrice()));
+            }
+            if (criteria.getMaxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("startingPrice"), criteria.getMaxPrice()));
+            }
+            if (!criteria.getAmenities().isEmpty()) {
+                // Each amenity must be a whole entry of the comma-separated list: ",pool,spa," LIKE "%,spa,%"
+                Expression<String> entries = cb.concat(cb.concat(",", cb.lower(
+                    cb.function("replace", String.class, root.get("amenities"), cb.literal(" "), cb.literal("")))), ",");
+                for (String amenity : criteria.getAmenities()) {
+                    String entry = amenity.replace(" ", "");
+                    if (!entry.isEmpty()) {
+                        predicates.add(cb.like(entries, "%," + escape(entry) + ",%", '\\'));
+                    }
+                }
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static String pattern(String text) {
+        return "%" + escape(text) + "%";
+    }
+
+    private static String escape(String text) {
+        return text.toLowerCase(Locale.ROOT).replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -1,21 +1,76 @@
 package com.hotel.repository;
 
+import com.hotel.dto.HotelAvailabilitySummary;
 import com.hotel.model.Room;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface RoomRepository extends JpaRepository<Room, Long> {
+public interface RoomRepository extends JpaRepository<Room, Long>, JpaSpecificationExecutor<Room> {
     List<Room> findByHotelId(Long hotelId);
     List<Room> findByHotelIdAndAvailableTrue(Long hotelId);
+    long countByHotelIdAndAvailableTrue(Long hotelId);
     List<Room> findByTypeContainingIgnoreCase(String type);
     List<Room> findByPriceBetween(java.math.BigDecimal minPrice, java.math.BigDecimal maxPrice);
     
+    // City-wide availability: free room count and cheapest free price per hotel, in one grouped query
+    @Query("SELECT new com.hotel.dto.HotelAvailabilitySummary(r.hotel.id, COUNT(r), MIN(r.price)) " +
+           "FROM Room r WHERE LOWER(r.hotel.location) LIKE LOWER(CONCAT('%', :location, '%')) " +
+           "AND r.available = true " +
+           "AND NOT EXISTS (SELECT b FROM Booking b WHERE b.room = r " +
+           "AND b.status = 'CONFIRMED' " +
+           "AND b.checkInDate < :checkOut AND b.checkOutDate > :checkIn) " +
+           "GROUP BY r.hotel.id")
+    List<HotelAvailabilitySummary> summarizeAvailabilityByLocation(@Param("location") String location,
+                                                                   @Param("checkIn") LocalDate checkIn,
+                                                                   @Param("checkOut") LocalDate checkOut);
+    
+    // Same summary leaving out rooms that are held for the stay
+    @Query("SELECT new com.hotel.dto.HotelAvailabilitySummary(r.hotel.id, COUNT(r), MIN(r.price)) " +
+           "FROM Room r WHERE LOWER(r.hotel.location) LIKE LOWER(CONCAT('%', :location, '%')) " +
+           "AND r.available = true AND r.id NOT IN :excludedIds " +
+           "AND NOT EXISTS (SELECT b FROM Booking b WHERE b.room = r " +
+           "AND b.status = 'CONFIRMED' " +
+           "AND b.checkInDate < :checkOut AND b.checkOutDate > :checkIn) " +
+           "GROUP BY r.hotel.id")
+    List<HotelAvailabilitySummary> summarizeAvailabilityByLocationExcluding(@Param("location") String location,
+                                                                            @Param("checkIn") LocalDate checkIn,
+                                                                            @Param("checkOut") LocalDate checkOut,
+                                                                            @Param("excludedIds") Collection<Long> excludedIds);
+    
+    @Query("SELECT r.id FROM Room r WHERE r.hotel.id = :hotelId AND r.available = true")
+    List<Long> findAvailableIdsByHotelId(@Param("hotelId") Long hotelId);
+    
+    // Loads the room for a booking transaction; its version is incremented on commit, so two
+    // concurrent transactions booking the same room cannot both succeed
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT r FROM Room r WHERE r.id = :id")
+    Optional<Room> findByIdForBooking(@Param("id") Long id);
+    
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT r FROM Room r WHERE r.id IN :ids")
+    List<Room> findAllByIdForBooking(@Param("ids") Collection<Long> ids);
+    
+    // Bookable room counts per hotel and room type: [hotelId, type, count]. Types are grouped
+    // upper case, so rows written before types were normalized count with their type
+    @Query("SELECT r.hotel.id, UPPER(r.type), COUNT(r) FROM Room r WHERE r.available = true " +
+           "GROUP BY r.hotel.id, UPPER(r.type)")
+    List<Object[]> countAvailableRoomsByHotelAndType();
+    
+    // Lightweight rows for the in-memory availability index: [roomId, hotelId, available]
+    @Query("SELECT r.id, r.hotel.id, r.available FROM Room r")
+    List<Object[]> findAllAvailabilityRows();
+    
     // Date-based availability query
     @Query("SELECT r FROM Room r WHERE r.hotel.id = :hotelId AND r.available = true " +
            "AND r.id NOT IN (" +
@@ -0,0 +1,64 @@
+package com.hotel.repository;
+
+import com.hotel.model.Booking;
+import com.hotel.model.Room;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Query fragments for the room listing of a hotel page. Only the filters actually given become
+ * predicates, so the database can use the (hotel_id, available, type, price) index on rooms
+ * and the (room_id, status, check_in_date) index on bookings.
+ */
+public final class RoomSpecifications {
+
+    private RoomSpecifications() {
+    }
+
+    // Bookable rooms of the hotel that satisfy every given filter; null filters are ignored
+    public static Specification<Room> availableIn(Long hotelId, String type, BigDecimal maxPrice, Integer minCapacity) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get("hotel").get("id"), hotelId));
+            predicates.add(cb.isTrue(root.get("available")));
+            if (type != null) {
+                // Room normalizes types to upper case on write, so plain equality keeps the index usable
+                predicates.add(cb.equal(root.get("type"), type.toUpperCase(Locale.ROOT)));
+            }
+            if (maxPrice != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("price"), maxPrice));
+            }
+            if (minCapacity != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("capacity"), minCapacity));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    // Rooms with no confirmed booking overlapping [checkIn, checkOut)
+    public static Specification<Room> freeBetween(LocalDate checkIn, LocalDate checkOut) {
+        return (root, query, cb) -> {
+            Subquery<Long> overlapping = query.subquery(Long.class);
+            Root<Booking> booking = overlapping.from(Booking.class);
+            overlapping.select(booking.get("id")).where(
+                cb.equal(booking.get("room"), root),
+                cb.equal(booking.get("status"), "CONFIRMED"),
+                cb.lessThan(booking.get("checkInDate"), checkOut),
+                cb.greaterThan(booking.get("checkOutDate"), checkIn));
+            return cb.not(cb.exists(overlapping));
+        };
+    }
+
+    public static Specification<Room> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+}
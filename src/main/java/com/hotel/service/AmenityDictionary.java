@@ -0,0 +1,108 @@
+package com.hotel.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Assigns every amenity name a bit position and encodes amenity lists as bitmasks, so an
+ * "has all of these amenities" filter is a bitwise AND per entity. Positions are handed out
+ * once and never reused, which keeps cached masks valid as new amenities appear. Masks are
+ * cached by the raw amenity string, since many rooms share the same one.
+ */
+@Component
+public class AmenityDictionary {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final Map<String, Integer> positions = new ConcurrentHashMap<>();
+    private final Map<String, long[]> masksBySource = new ConcurrentHashMap<>();
+    private final AtomicInteger nextPosition = new AtomicInteger();
+
+    public long[] encode(String amenities, List<String> amenityList) {
+        if (amenities == null || amenities.isEmpty()) {
+            return EMPTY;
+        }
+        return masksBySource.computeIfAbsent(amenities, source -> {
+            long[] mask = EMPTY;
+            for (String amenity : amenityList) {
+                mask = set(mask, positionOf(amenity));
+            }
+            return mask;
+        });
+    }
+
+    /**
+     * The items that have every requested amenity. Items are encoded before the request, so
+     * an amenity unknown even after that cannot match anything.
+     */
+    public <T> List<T> filterAll(List<T> items, Function<T, String> amenities, Function<T, List<String>> amenityList,
+                                 Collection<String> requested) {
+        if (requested == null || requested.isEmpty()) {
+            return items;
+        }
+        List<long[]> masks = items.stream()
+            .map(item -> encode(amenities.apply(item), amenityList.apply(item)))
+            .toList();
+        long[] required = required(requested);
+        if (required == null) {
+            return List.of();
+        }
+        List<T> matching = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            if (containsAll(masks.get(i), required)) {
+                matching.add(items.get(i));
+            }
+        }
+        return matching;
+    }
+
+    /**
+     * Mask of the requested amenities, or null when one of them has never been seen on any
+     * hotel or room (nothing can match).
+     */
+    public long[] required(Collection<String> amenities) {
+        long[] mask = EMPTY;
+        for (String amenity : amenities) {
+            Integer position = positions.get(normalize(amenity));
+            if (position == null) {
+                return null;
+            }
+            mask = set(mask, position);
+        }
+        return mask;
+    }
+
+    public static boolean containsAll(long[] mask, long[] required) {
+        for (int word = 0; word < required.length; word++) {
+            long have = word < mask.length ? mask[word] : 0L;
+            if ((have & required[word]) != required[word]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int positionOf(String amenity) {
+        return positions.computeIfAbsent(normalize(amenity), name -> nextPosition.getAndIncrement());
+    }
+
+    private static long[] set(long[] mask, int position) {
+        int word = position >>> 6;
+        long[] result = mask.length > word ? mask : Arrays.copyOf(mask, word + 1);
+        result[word] |= 1L << (position & 63);
+        return result;
+    }
+
+    private static String normalize(String amenity) {
+        return amenity.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,27 @@
+package com.hotel.service;
+
+import com.hotel.model.Hotel;
+import org.springframework.stereotype.Component;
+
+// More free rooms score higher, saturating: 3 free rooms score 0.5, 9 score 0.75
+@Component
+public class AvailabilityScorer implements HotelScorer {
+
+    private static final double HALF_SCORE_ROOMS = 3.0;
+
+    @Override
+    public String name() {
+        return "availability";
+    }
+
+    @Override
+    public double defaultWeight() {
+        return 0.5;
+    }
+
+    @Override
+    public double score(Hotel hotel, RankingContext context) {
+        Integer rooms = context.freeRooms(hotel);
+        return rooms == null || rooms <= 0 ? 0 : rooms / (rooms + HALF_SCORE_ROOMS);
+    }
+}
@@ -0,0 +1,117 @@
+package com.hotel.service;
+
+import com.hotel.repository.BookingRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves CONFIRMED bookings whose check-out date has passed to COMPLETED. Works in keyset
+ * pages of booking ids, each page finished with one bulk UPDATE in its own short transaction,
+ * and pauses between pages so the job does not compete with live traffic.
+ */
+@Component
+public class BookingCompletionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingCompletionJob.class);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.booking.completion.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.booking.completion.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.booking.completion.pause-ms:200}")
+    private long pauseMillis;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong lastRunCompleted = new AtomicLong();
+    private Counter completedCounter;
+    private Counter chunkCounter;
+    private Timer runTimer;
+
+    @PostConstruct
+    void registerMetrics() {
+        completedCounter = Counter.builder("booking.completion.rows")
+            .description("Bookings moved to COMPLETED")
+            .register(meterRegistry);
+        chunkCounter = Counter.builder("booking.completion.chunks")
+            .description("Bulk UPDATE chunks executed")
+            .register(meterRegistry);
+        runTimer = Timer.builder("booking.completion.run")
+            .description("Duration of a completion job run")
+            .register(meterRegistry);
+        meterRegistry.gauge("booking.completion.last-run.rows", lastRunCompleted);
+    }
+
+    @Scheduled(cron = "${app.booking.completion.cron:0 15 3 * * *}")
+    public void run() {
+        if (enabled) {
+            completePastBookings(LocalDate.now());
+        }
+    }
+
+    /**
+     * Completes every CONFIRMED booking that checked out before {@code today}. Returns how many
+     * bookings were moved, or -1 when a run is already in progress.
+     */
+    public long completePastBookings(LocalDate today) {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Booking completion job is already running, skipping");
+            return -1;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long total = 0;
+        try {
+            long afterId = 0;
+            while (true) {
+                List<Long> ids = bookingRepository.findConfirmedIdsCheckedOutBefore(today, afterId,
+                                                                                    PageRequest.of(0, chunkSize));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                int updated = bookingRepository.completeConfirmed(ids);
+                total += updated;
+                completedCounter.increment(updated);
+                chunkCounter.increment();
+                afterId = ids.get(ids.size() - 1);
+                log.debug("Booking completion: {} bookings completed so far (last id {})", total, afterId);
+
+                if (ids.size() < chunkSize) {
+                    break;
+                }
+                Thread.sleep(pauseMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Booking completion job interrupted after {} bookings", total);
+        } finally {
+            lastRunCompleted.set(total);
+            sample.stop(runTimer);
+            running.set(false);
+        }
+        if (total > 0) {
+            log.info("Booking completion job moved {} bookings to COMPLETED", total);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,277 @@
+package com.hotel.service;
+
+import com.hotel.model.Booking;
+import com.hotel.model.Room;
+import com.hotel.model.User;
+import com.hotel.repository.BookingRepository;
+import com.hotel.repository.RoomRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Optional booking ingestion mode. Requests are put on a bounded in-process queue and a single
+ * writer thread drains them in batches, committing each batch in one transaction with one
+ * set-based conflict query. Callers get a polling token and a future for the outcome, so web
+ * threads do not hold a database connection while bookings are written.
+ */
+@Component
+public class BookingPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingPipeline.class);
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomLockStripes roomLocks;
+
+    @Autowired
+    private RoomHoldStore roomHolds;
+
+    @Autowired
+    private RoomTypeInventory roomTypeInventory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.booking.pipeline.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.booking.pipeline.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${app.booking.pipeline.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.booking.pipeline.result-ttl-ms:600000}")
+    private long resultTtlMillis;
+
+    @Value("${app.booking.max-attempts:3}")
+    private int maxBatchAttempts;
+
+    private BlockingQueue<PendingBooking> queue;
+    private final Map<String, PendingBooking> tickets = new ConcurrentHashMap<>();
+    private volatile Thread writer;
+
+    private static final class PendingBooking {
+        final String token;
+        final User user;
+        final Room room;
+        final LocalDate checkIn;
+        final LocalDate checkOut;
+        final Integer guests;
+        final String specialRequests;
+        final CompletableFuture<Booking> result = new CompletableFuture<>();
+        volatile long completedAt;
+
+        PendingBooking(String token, User user, Room room, LocalDate checkIn, LocalDate checkOut,
+                       Integer guests, String specialRequests) {
+            this.token = token;
+            this.user = user;
+            this.room = room;
+            this.checkIn = checkIn;
+            this.checkOut = checkOut;
+            this.guests = guests;
+            this.specialRequests = specialRequests;
+        }
+
+        boolean overlaps(LocalDate otherIn, LocalDate otherOut) {
+            return checkIn.isBefore(otherOut) && otherIn.isBefore(checkOut);
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        writer = new Thread(this::drainLoop, "booking-pipeline-writer");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("Booking pipeline started (queue capacity {}, batch size {})", queueCapacity, batchSize);
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread current = writer;
+        writer = null;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Validates and enqueues a booking request. Returns the polling token; the outcome is
+     * available through {@link #getResult}. Fails immediately when the queue is full.
+     * Submissions with the same idempotency key map to the same token and are queued once.
+     */
+    public String submit(User user, Room room, LocalDate checkIn, LocalDate checkOut,
+                         Integer guests, String specialRequests, String idempotencyKey) {
+        String token = idempotencyKey == null || idempotencyKey.isBlank()
+            ? UUID.randomUUID().toString()
+            : UUID.nameUUIDFromBytes((user.getId() + ":" + idempotencyKey).getBytes(StandardCharsets.UTF_8)).toString();
+        PendingBooking earlier = tickets.get(token);
+        if (earlier != null && !earlier.result.isCompletedExceptionally()) {
+            return token;
+        }
+        bookingService.validateStay(room, checkIn, checkOut, guests);
+        PendingBooking pending = new PendingBooking(token, user, room, checkIn, checkOut, guests, specialRequests);
+        if (earlier == null ? tickets.putIfAbsent(token, pending) != null : !tickets.replace(token, earlier, pending)) {
+            // A concurrent duplicate got there first
+            return token;
+        }
+        if (!queue.offer(pending)) {
+            tickets.remove(token, pending);
+            throw new RuntimeException("We are receiving a lot of bookings right now, please try again shortly");
+        }
+        return pending.token;
+    }
+
+    // The outcome of a submitted booking, visible only to the user who submitted it
+    public Optional<CompletableFuture<Booking>> getResult(String token, Long userId) {
+        PendingBooking pending = tickets.get(token);
+        if (pending == null || !pending.user.getId().equals(userId)) {
+            return Optional.empty();
+        }
+        return Optional.of(pending.result);
+    }
+
+    private void drainLoop() {
+        List<PendingBooking> batch = new ArrayList<>(batchSize);
+        while (writer != null) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, batchSize - 1);
+                processBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Booking pipeline batch failed", e);
+                batch.forEach(pending -> complete(pending, null, e));
+            } finally {
+                batch.clear();
+                expireTickets();
+            }
+        }
+    }
+
+    private void processBatch(List<PendingBooking> batch) {
+        // Counters are updated after the commit; keep a reload from falling in between
+        roomTypeInventory.withoutReload(() -> {
+            commitAndRecord(batch);
+            return null;
+        });
+    }
+
+    private void commitAndRecord(List<PendingBooking> batch) {
+        List<Long> roomIds = batch.stream().map(pending -> pending.room.getId()).distinct().toList();
+        List<Lock> locks = roomLocks.locksFor(roomIds);
+        locks.forEach(Lock::lock);
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    Map<PendingBooking, Booking> saved = transactionTemplate.execute(status -> commitBatch(batch, roomIds));
+                    for (PendingBooking pending : batch) {
+                        Booking booking = saved.get(pending);
+                        if (booking != null) {
+                            bookingService.recordConfirmed(booking);
+                            roomHolds.release(pending.user.getId(), pending.room.getId());
+                            complete(pending, booking, null);
+                        } else {
+                            complete(pending, null, new RuntimeException("Room is not available for the selected dates"));
+                        }
+                    }
+                    return;
+                } catch (OptimisticLockingFailureException e) {
+                    if (attempt >= maxBatchAttempts) {
+                        throw new RuntimeException("Rooms are being booked by other guests, please try again");
+                    }
+                }
+            }
+        } finally {
+            for (int i = locks.size() - 1; i >= 0; i--) {
+                locks.get(i).unlock();
+            }
+        }
+    }
+
+    private Map<PendingBooking, Booking> commitBatch(List<PendingBooking> batch, List<Long> roomIds) {
+        Map<Long, Room> rooms = new HashMap<>();
+        for (Room room : roomRepository.findAllByIdForBooking(roomIds)) {
+            rooms.put(room.getId(), room);
+        }
+
+        // One conflict query for the whole batch, covering the union of all requested stays
+        LocalDate from = batch.stream().map(pending -> pending.checkIn).min(LocalDate::compareTo).orElseThrow();
+        LocalDate to = batch.stream().map(pending -> pending.checkOut).max(LocalDate::compareTo).orElseThrow();
+        Map<Long, List<LocalDate[]>> taken = new HashMap<>();
+        for (Object[] stay : bookingRepository.findConfirmedStaysForRooms(roomIds, from, to)) {
+            taken.computeIfAbsent((Long) stay[0], id -> new ArrayList<>())
+                 .add(new LocalDate[]{(LocalDate) stay[1], (LocalDate) stay[2]});
+        }
+
+        // Earlier requests in the batch win over later ones for the same room and nights
+        Map<PendingBooking, Booking> accepted = new HashMap<>();
+        for (PendingBooking pending : batch) {
+            Room room = rooms.get(pending.room.getId());
+            List<LocalDate[]> roomStays = taken.computeIfAbsent(pending.room.getId(), id -> new ArrayList<>());
+            boolean free = room != null && Boolean.TRUE.equals(room.getAvailable())
+                && roomStays.stream().noneMatch(stay -> pending.overlaps(stay[0], stay[1]))
+                && !roomHolds.isHeldByOther(room.getId(), pending.checkIn, pending.checkOut, pending.user.getId());
+            if (free) {
+                roomStays.add(new LocalDate[]{pending.checkIn, pending.checkOut});
+                accepted.put(pending, bookingService.buildBooking(pending.user, room, pending.checkIn,
+                    pending.checkOut, pending.guests, pending.specialRequests));
+            }
+        }
+        bookingRepository.saveAll(accepted.values());
+        return accepted;
+    }
+
+    private void complete(PendingBooking pending, Booking booking, RuntimeException failure) {
+        pending.completedAt = System.currentTimeMillis();
+        if (failure == null) {
+            pending.result.complete(booking);
+        } else {
+            pending.result.completeExceptionally(failure);
+        }
+    }
+
+    private void expireTickets() {
+        long cutoff = System.currentTimeMillis() - resultTtlMillis;
+        tickets.values().removeIf(pending -> pending.completedAt > 0 && pending.completedAt < cutoff);
+    }
+}
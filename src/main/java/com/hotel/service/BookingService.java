@@ -1,19 +1,32 @@
 package com.hotel.service;
 
+import com.hotel.dto.DayAvailability;
+import com.hotel.dto.GroupBookingResult;
+import com.hotel.dto.RoomHold;
 import com.hotel.model.Booking;
 import com.hotel.model.Room;
 import com.hotel.model.User;
 import com.hotel.repository.BookingRepository;
 import com.hotel.repository.RoomRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.Lock;
 
 @Service
 public class BookingService {
@@ -24,9 +37,252 @@ public class BookingService {
     @Autowired
     private RoomRepository roomRepository;
 
+    @Autowired
+    private RoomAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private RoomTypeInventory roomTypeInventory;
+
+    @Autowired
+    private RoomLockStripes roomLocks;
+
+    @Autowired
+    private IdempotencyKeyStore idempotencyKeys;
+
+    @Autowired
+    private RoomHoldStore roomHolds;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.booking.max-attempts:3}")
+    private int maxBookingAttempts;
+
+    @Value("${app.booking.group.max-rooms:30}")
+    private int maxGroupRooms;
+
+    /**
+     * Same as {@link #createBooking(User, Room, LocalDate, LocalDate, Integer, String)}, but a
+     * repeated submission with the same key returns the booking made by the first one without
+     * running the checks or the insert again. A blank key disables the deduplication.
+     */
+    public Booking createBooking(User user, Room room, LocalDate checkInDate, LocalDate checkOutDate,
+                                 Integer guests, String specialRequests, String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return createBooking(user, room, checkInDate, checkOutDate, guests, specialRequests);
+        }
+        
+        CompletableFuture<Booking> result = new CompletableFuture<>();
+        CompletableFuture<Booking> earlier = idempotencyKeys.putIfAbsent(user.getId(), idempotencyKey, result);
+        if (earlier != null) {
+            // The first submission may still be running; wait for its outcome
+            try {
+                return earlier.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        
+        try {
+            Booking booking = createBooking(user, room, checkInDate, checkOutDate, guests, specialRequests);
+            result.complete(booking);
+            return booking;
+        } catch (RuntimeException e) {
+            idempotencyKeys.remove(user.getId(), idempotencyKey, result);
+            result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
     public Booking createBooking(User user, Room room, LocalDate checkInDate, 
                                 LocalDate checkOutDate, Integer guests, String specialRequests) {
         
+        validateStay(room, checkInDate, checkOutDate, guests);
+        
+        // No counter reload may fall between the reservation below and the commit it stands for
+        return roomTypeInventory.withoutReload(() ->
+            reserveAndSave(user, room, checkInDate, checkOutDate, guests, specialRequests));
+    }
+
+    private Booking reserveAndSave(User user, Room room, LocalDate checkInDate, LocalDate checkOutDate,
+                                   Integer guests, String specialRequests) {
+        // Claim one room of this type on the allotment counters first; a sold-out type fails fast
+        Long hotelId = room.getHotel().getId();
+        boolean counted = roomTypeInventory.canAnswer(checkInDate, checkOutDate);
+        if (counted && !roomTypeInventory.tryReserve(hotelId, room.getType(), checkInDate, checkOutDate)) {
+            throw new RuntimeException("Room is not available for the selected dates");
+        }
+        
+        // Only attempts for the same room (stripe) wait on each other; the room version
+        // check in the transaction covers attempts made by other application instances
+        boolean committed = false;
+        Lock lock = roomLocks.lockFor(room.getId());
+        lock.lock();
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    Booking saved = transactionTemplate.execute(status ->
+                        saveBookingInTransaction(user, room.getId(), checkInDate, checkOutDate, guests, specialRequests));
+                    committed = true;
+                    availabilityIndex.markBooked(room.getId(), checkInDate, checkOutDate);
+                    roomHolds.release(user.getId(), room.getId());
+                    return saved;
+                } catch (OptimisticLockingFailureException e) {
+                    if (attempt >= maxBookingAttempts) {
+                        throw new RuntimeException("Room is being booked by another guest, please try again");
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+            if (counted && !committed) {
+                roomTypeInventory.release(hotelId, room.getType(), checkInDate, checkOutDate);
+            }
+        }
+    }
+
+    /**
+     * Holds the room for the user's stay while they complete the booking form. Returns null
+     * when holds are disabled; fails when the room is booked or held by someone else.
+     */
+    public RoomHold holdRoom(User user, Room room, LocalDate checkInDate, LocalDate checkOutDate) {
+        if (!roomHolds.isEnabled()) {
+            return null;
+        }
+        validateDatesAndGuests(checkInDate, checkOutDate, 1);
+        
+        // Same stripe as bookings of the room, so a hold never lands between a booking's checks and its commit
+        Lock lock = roomLocks.lockFor(room.getId());
+        lock.lock();
+        try {
+            if (!isRoomAvailable(room, checkInDate, checkOutDate)) {
+                throw new RuntimeException("Room is not available for the selected dates");
+            }
+            
+            RoomHold hold = roomHolds.place(user.getId(), room.getId(), checkInDate, checkOutDate);
+            if (hold == null) {
+                throw new RuntimeException("Room is currently held by another guest, please try again later");
+            }
+            return hold;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // The user's current hold on exactly this room and stay, if any
+    public RoomHold findHold(User user, Room room, LocalDate checkInDate, LocalDate checkOutDate) {
+        RoomHold hold = roomHolds.findHold(user.getId());
+        if (hold == null || !hold.getRoomId().equals(room.getId())
+                || !hold.getCheckInDate().equals(checkInDate) || !hold.getCheckOutDate().equals(checkOutDate)) {
+            return null;
+        }
+        return hold;
+    }
+
+    public boolean isHeldByOther(User user, Room room, LocalDate checkInDate, LocalDate checkOutDate) {
+        return roomHolds.isHeldByOther(room.getId(), checkInDate, checkOutDate, user.getId());
+    }
+
+    /**
+     * Books several rooms for the same stay in one transaction. Availability of all rooms is
+     * checked with one set-based query. With {@code allOrNothing} any unavailable room fails the
+     * whole request; otherwise the free rooms are booked and the rest are reported back.
+     */
+    public GroupBookingResult createGroupBooking(User user, List<Long> roomIds, LocalDate checkInDate,
+                                                 LocalDate checkOutDate, Integer guestsPerRoom,
+                                                 String specialRequests, boolean allOrNothing) {
+        
+        validateDatesAndGuests(checkInDate, checkOutDate, guestsPerRoom);
+        
+        List<Long> distinctRoomIds = roomIds == null ? List.of() : roomIds.stream().distinct().toList();
+        if (distinctRoomIds.isEmpty()) {
+            throw new RuntimeException("Select at least one room");
+        }
+        if (distinctRoomIds.size() > maxGroupRooms) {
+            throw new RuntimeException("A group booking can include at most " + maxGroupRooms + " rooms");
+        }
+        
+        return roomTypeInventory.withoutReload(() ->
+            saveGroup(user, distinctRoomIds, checkInDate, checkOutDate, guestsPerRoom, specialRequests, allOrNothing));
+    }
+
+    private GroupBookingResult saveGroup(User user, List<Long> distinctRoomIds, LocalDate checkInDate,
+                                         LocalDate checkOutDate, Integer guestsPerRoom,
+                                         String specialRequests, boolean allOrNothing) {
+        // Stripe locks are taken in a fixed order, so overlapping groups cannot deadlock
+        List<Lock> locks = roomLocks.locksFor(distinctRoomIds);
+        locks.forEach(Lock::lock);
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    GroupBookingResult result = transactionTemplate.execute(status ->
+                        saveGroupInTransaction(user, distinctRoomIds, checkInDate, checkOutDate,
+                                               guestsPerRoom, specialRequests, allOrNothing));
+                    result.getBookings().forEach(this::recordConfirmed);
+                    return result;
+                } catch (OptimisticLockingFailureException e) {
+                    if (attempt >= maxBookingAttempts) {
+                        throw new RuntimeException("Some rooms are being booked by other guests, please try again");
+                    }
+                }
+            }
+        } finally {
+            for (int i = locks.size() - 1; i >= 0; i--) {
+                locks.get(i).unlock();
+            }
+        }
+    }
+
+    private GroupBookingResult saveGroupInTransaction(User user, List<Long> roomIds, LocalDate checkInDate,
+                                                      LocalDate checkOutDate, Integer guestsPerRoom,
+                                                      String specialRequests, boolean allOrNothing) {
+        Map<Long, Room> rooms = new HashMap<>();
+        for (Room room : roomRepository.findAllByIdForBooking(roomIds)) {
+            rooms.put(room.getId(), room);
+        }
+        Set<Long> taken = new HashSet<>(
+            bookingRepository.findRoomIdsWithOverlappingBookings(roomIds, checkInDate, checkOutDate));
+        taken.addAll(roomHolds.findHeldRoomIds(roomIds, checkInDate, checkOutDate, user.getId()));
+        
+        List<Booking> bookings = new ArrayList<>();
+        List<Long> rejected = new ArrayList<>();
+        for (Long roomId : roomIds) {
+            Room room = rooms.get(roomId);
+            if (room == null || !Boolean.TRUE.equals(room.getAvailable()) || taken.contains(roomId)
+                    || guestsPerRoom > room.getCapacity()) {
+                rejected.add(roomId);
+            } else {
+                bookings.add(buildBooking(user, room, checkInDate, checkOutDate, guestsPerRoom, specialRequests));
+            }
+        }
+        
+        if (allOrNothing && !rejected.isEmpty()) {
+            throw new RuntimeException("Rooms not available for the selected dates: " + rejected);
+        }
+        if (bookings.isEmpty()) {
+            throw new RuntimeException("None of the selected rooms are available for the selected dates");
+        }
+        
+        return new GroupBookingResult(bookingRepository.saveAll(bookings), rejected);
+    }
+
+    // Brings the in-memory availability structures in line with a committed booking
+    void recordConfirmed(Booking booking) {
+        Room room = booking.getRoom();
+        availabilityIndex.markBooked(room.getId(), booking.getCheckInDate(), booking.getCheckOutDate());
+        roomTypeInventory.reserve(room.getHotel().getId(), room.getType(),
+                                  booking.getCheckInDate(), booking.getCheckOutDate());
+    }
+
+    void validateStay(Room room, LocalDate checkInDate, LocalDate checkOutDate, Integer guests) {
+        validateDatesAndGuests(checkInDate, checkOutDate, guests);
+        
+        if (guests > room.getCapacity()) {
+            throw new RuntimeException("Number of guests exceeds room capacity");
+        }
+    }
+
+    private void validateDatesAndGuests(LocalDate checkInDate, LocalDate checkOutDate, Integer guests) {
         // Validate dates
         if (checkInDate == null || checkOutDate == null) {
             throw new RuntimeException("Check-in and check-out dates are required");
@@ -44,27 +300,33 @@ public class BookingService {
         if (guests == null || guests <= 0) {
             throw new RuntimeException("Number of guests must be at least 1");
         }
+    }
+
+    private Booking saveBookingInTransaction(User user, Long roomId, LocalDate checkInDate,
+                                             LocalDate checkOutDate, Integer guests, String specialRequests) {
+        // Loading with OPTIMISTIC_FORCE_INCREMENT bumps the room version at commit
+        Room room = roomRepository.findByIdForBooking(roomId)
+            .orElseThrow(() -> new RuntimeException("Room not found"));
         
-        if (guests > room.getCapacity()) {
-            throw new RuntimeException("Number of guests exceeds room capacity");
-        }
-        
-        // Check if room is available for the selected dates using the date-based query
-        List<Room> availableRooms = roomRepository.findAvailableRoomsByHotelAndDates(
-            room.getHotel().getId(), checkInDate, checkOutDate);
-        
-        boolean roomAvailable = availableRooms.stream()
-            .anyMatch(availableRoom -> availableRoom.getId().equals(room.getId()));
-        
-        if (!roomAvailable) {
+        // Check if this room is available for the selected dates
+        if (!isRoomAvailable(room, checkInDate, checkOutDate)) {
             throw new RuntimeException("Room is not available for the selected dates");
         }
+        // Checked under the stripe lock, which holdRoom also takes, so no hold can slip in before the commit
+        if (roomHolds.isHeldByOther(roomId, checkInDate, checkOutDate, user.getId())) {
+            throw new RuntimeException("Room is currently held by another guest, please try again later");
+        }
+
+        return bookingRepository.save(buildBooking(user, room, checkInDate, checkOutDate, guests, specialRequests));
+    }
 
+    Booking buildBooking(User user, Room room, LocalDate checkInDate, LocalDate checkOutDate,
+                                 Integer guests, String specialRequests) {
         // Calculate total price
         long days = ChronoUnit.DAYS.between(checkInDate, checkOutDate);
         BigDecimal totalPrice = room.getPrice().multiply(BigDecimal.valueOf(days));
         
-        // Create booking - REMOVED the setCreatedAt line as it's handled in constructor
+        // createdAt is set in the constructor
         Booking booking = new Booking();
         booking.setUser(user);
         booking.setRoom(room);
@@ -74,10 +336,59 @@ public class BookingService {
         booking.setTotalPrice(totalPrice);
         booking.setSpecialRequests(specialRequests);
         booking.setStatus("CONFIRMED");
-        // createdAt is automatically set in the constructor
-        
-        // Save booking
-        return bookingRepository.save(booking);
+        return booking;
+    }
+
+    public boolean isRoomAvailable(Room room, LocalDate checkInDate, LocalDate checkOutDate) {
+        // Single-room existence check; the write path always asks the database, not the index
+        return Boolean.TRUE.equals(room.getAvailable())
+            && !bookingRepository.existsOverlappingBooking(room.getId(), checkInDate, checkOutDate);
+    }
+
+    // Per-day availability of one room, from a single range scan of its bookings. Nights held
+    // by another guest count as taken; viewerId's own hold does not.
+    public List<DayAvailability> getRoomCalendar(Room room, LocalDate from, int days, Long viewerId) {
+        int capacity = Boolean.TRUE.equals(room.getAvailable()) ? 1 : 0;
+        LocalDate to = from.plusDays(days);
+        List<Object[]> stays = new ArrayList<>(bookingRepository.findConfirmedStaysForRoom(room.getId(), from, to));
+        stays.addAll(roomHolds.findHeldStays(List.of(room.getId()), from, to, viewerId));
+        return buildCalendar(from, days, capacity, stays);
+    }
+
+    // Per-day free room count of a whole hotel, from a single range scan of its bookings plus
+    // the current holds on its rooms
+    public List<DayAvailability> getHotelCalendar(Long hotelId, LocalDate from, int days, Long viewerId) {
+        LocalDate to = from.plusDays(days);
+        List<Object[]> stays = new ArrayList<>(bookingRepository.findConfirmedStaysForHotel(hotelId, from, to));
+        int capacity;
+        if (roomHolds.size() == 0) {
+            capacity = (int) roomRepository.countByHotelIdAndAvailableTrue(hotelId);
+        } else {
+            List<Long> roomIds = roomRepository.findAvailableIdsByHotelId(hotelId);
+            capacity = roomIds.size();
+            stays.addAll(roomHolds.findHeldStays(roomIds, from, to, viewerId));
+        }
+        return buildCalendar(from, days, capacity, stays);
+    }
+
+    private List<DayAvailability> buildCalendar(LocalDate from, int days, int capacity, List<Object[]> stays) {
+        // Difference array: +1 on the first booked night, -1 on the check-out day, then a prefix sum
+        int[] delta = new int[days + 1];
+        for (Object[] stay : stays) {
+            int start = (int) Math.max(0, ChronoUnit.DAYS.between(from, (LocalDate) stay[0]));
+            int end = (int) Math.min(days, ChronoUnit.DAYS.between(from, (LocalDate) stay[1]));
+            if (start < end) {
+                delta[start]++;
+                delta[end]--;
+            }
+        }
+        List<DayAvailability> calendar = new ArrayList<>(days);
+        int booked = 0;
+        for (int day = 0; day < days; day++) {
+            booked += delta[day];
+            calendar.add(new DayAvailability(from.plusDays(day), Math.max(0, capacity - booked)));
+        }
+        return calendar;
     }
 
     public List<Booking> getUserBookings(Long userId) {
@@ -89,7 +400,7 @@ public class BookingService {
     }
 
     public Optional<Booking> getBookingById(Long id) {
-        return bookingRepository.findById(id);
+        return bookingRepository.findWithRoomAndHotelById(id);
     }
 
     public Booking updateBooking(Booking booking) {
@@ -97,16 +408,44 @@ public class BookingService {
     }
 
     public void cancelBooking(Long bookingId) {
-        Booking booking = bookingRepository.findById(bookingId)
-            .orElseThrow(() -> new RuntimeException("Booking not found"));
-        
-        // Only allow cancellation for confirmed bookings
-        if (!"CONFIRMED".equals(booking.getStatus())) {
-            throw new RuntimeException("Only confirmed bookings can be cancelled");
+        if (cancelBooking(bookingId, null) == 0) {
+            throw new RuntimeException("Booking not found or not confirmed");
+        }
+    }
+
+    /**
+     * Cancels a confirmed booking owned by the user (any user when {@code userId} is null) with
+     * one conditional UPDATE. Returns the number of bookings cancelled, 0 when the booking does
+     * not exist, belongs to someone else or is not confirmed.
+     */
+    public int cancelBooking(Long bookingId, Long userId) {
+        // Look the stay up first so the cancel is serialized with bookings of the same room
+        List<Object[]> stay = bookingRepository.findStayById(bookingId);
+        if (stay.isEmpty()) {
+            return 0;
         }
+        Object[] row = stay.get(0);
+        Long roomId = (Long) row[0];
+        LocalDate checkIn = (LocalDate) row[3];
+        LocalDate checkOut = (LocalDate) row[4];
         
-        booking.setStatus("CANCELLED");
-        bookingRepository.save(booking);
+        return roomTypeInventory.withoutReload(() -> {
+            Lock lock = roomLocks.lockFor(roomId);
+            lock.lock();
+            try {
+                Integer cancelled = transactionTemplate.execute(status ->
+                    bookingRepository.cancelIfConfirmed(bookingId, userId));
+                if (cancelled == null || cancelled == 0) {
+                    return 0;
+                }
+                // The nights are free again
+                availabilityIndex.release(roomId, checkIn, checkOut);
+                roomTypeInventory.release((Long) row[1], (String) row[2], checkIn, checkOut);
+                return 1;
+            } finally {
+                lock.unlock();
+            }
+        });
     }
     
     public List<Booking> getBookingsByRoom(Room room) {
@@ -0,0 +1,82 @@
+package com.hotel.service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timer wheel: timeouts are hashed into a ring of slots by their expiry tick, and each
+ * {@link #tick} only visits the slot under the cursor. Scheduling and cancelling are O(1);
+ * a timeout further away than one revolution waits out the extra rounds in its slot.
+ */
+class HashedTimerWheel<T> {
+
+    private final List<List<Timeout<T>>> slots;
+    private final long tickMillis;
+    private long currentTick;
+
+    static final class Timeout<T> {
+        private final T item;
+        private long remainingRounds;
+        private volatile boolean cancelled;
+
+        private Timeout(T item, long remainingRounds) {
+            this.item = item;
+            this.remainingRounds = remainingRounds;
+        }
+
+        T getItem() {
+            return item;
+        }
+
+        // The entry stays in its slot and is dropped when the cursor next reaches it
+        void cancel() {
+            cancelled = true;
+        }
+    }
+
+    HashedTimerWheel(int slotCount, long tickMillis) {
+        if (slotCount <= 0 || tickMillis <= 0) {
+            throw new IllegalArgumentException("Slot count and tick duration must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.slots = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            slots.add(new ArrayList<>());
+        }
+    }
+
+    synchronized Timeout<T> schedule(T item, long delayMillis) {
+        // Round up so an item never fires before its delay has passed
+        long ticks = Math.max(1, (delayMillis + tickMillis - 1) / tickMillis);
+        int slotCount = slots.size();
+        Timeout<T> timeout = new Timeout<>(item, (ticks - 1) / slotCount);
+        slots.get((int) ((currentTick + ticks) % slotCount)).add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Advances the cursor by one slot and hands every timeout due in it to {@code onExpire}.
+     */
+    void tick(Consumer<T> onExpire) {
+        List<T> expired = new ArrayList<>();
+        synchronized (this) {
+            currentTick++;
+            Iterator<Timeout<T>> it = slots.get((int) (currentTick % slots.size())).iterator();
+            while (it.hasNext()) {
+                Timeout<T> timeout = it.next();
+                if (timeout.cancelled) {
+                    it.remove();
+                } else if (timeout.remainingRounds > 0) {
+                    timeout.remainingRounds--;
+                } else {
+                    it.remove();
+                    expired.add(timeout.item);
+                }
+            }
+        }
+        // Callbacks run outside the wheel lock so they may schedule new timeouts
+        expired.forEach(onExpire);
+    }
+}
@@ -0,0 +1,316 @@
+package com.hotel.service;
+
+import com.hotel.dto.HotelSearchCriteria;
+import com.hotel.dto.HotelSort;
+import com.hotel.model.Hotel;
+import com.hotel.repository.HotelRepository;
+import com.hotel.repository.RoomRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Read-only snapshot of all hotels for the home and browse pages. A snapshot is never
+ * modified once published: {@link #refresh} builds a new one and swaps the reference, so
+ * readers always see one consistent catalog without locking. Refreshed at startup, on a timer
+ * and, in the background, after hotels or rooms are changed through the services
+ * ({@link #markDirty}).
+ */
+@Component
+public class HotelCatalog {
+
+    private static final Logger log = LoggerFactory.getLogger(HotelCatalog.class);
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private HotelSuggestIndex suggestIndex;
+
+    @Autowired
+    private HotelGeoIndex geoIndex;
+
+    @Autowired
+    private HotelSearchIndex searchIndex;
+
+    @Autowired
+    private AmenityDictionary amenityDictionary;
+
+    @Value("${app.catalog.enabled:true}")
+    private boolean enabled;
+
+    private static final List<HotelSort> PAGED_SORTS = List.of(HotelSort.RATING, HotelSort.PRICE_LOW, HotelSort.PRICE_HIGH);
+
+    private volatile Snapshot snapshot;
+
+    // Set while a background refresh is queued; changes marked meanwhile share that refresh
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "hotel-catalog-refresher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final class Ranking {
+        final List<Hotel> hotels;
+        final int[] index;
+
+        Ranking(List<Hotel> unsorted, HotelSort sort, Map<Long, Integer> positions) {
+            hotels = unsorted.stream().sorted(HotelCursor.order(sort)).toList();
+            index = hotels.stream().mapToInt(hotel -> positions.get(hotel.getId())).toArray();
+        }
+    }
+
+    private static final class Snapshot {
+        final List<Hotel> hotels;
+        final List<Hotel> byRatingDesc;
+        // Each paged listing order with the position in hotels of every ranked entry
+        final Map<HotelSort, Ranking> rankings = new EnumMap<>(HotelSort.class);
+        final Map<Long, Hotel> byId;
+        // Lower-cased search fields, parallel to hotels
+        final String[] names;
+        final String[] locations;
+        // Name, location, description and amenities together, for the text criterion
+        final String[] texts;
+        final Set<String> amenityNames;
+        // Amenity bitmask of each hotel, parallel to hotels
+        final long[][] amenityMasks;
+        // Types of the available rooms of each hotel, for the room type facet
+        final Map<Long, Set<String>> roomTypes;
+
+        Snapshot(List<Hotel> loaded, Map<Long, Set<String>> roomTypes, AmenityDictionary dictionary) {
+            this.roomTypes = roomTypes;
+            List<Hotel> sorted = new ArrayList<>(loaded);
+            sorted.sort(Comparator.comparing(Hotel::getId));
+            hotels = List.copyOf(sorted);
+            byId = hotels.stream().collect(Collectors.toUnmodifiableMap(Hotel::getId, Function.identity()));
+            names = new String[hotels.size()];
+            locations = new String[hotels.size()];
+            texts = new String[hotels.size()];
+            amenityMasks = new long[hotels.size()][];
+            Set<String> amenities = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+            Map<Long, Integer> positions = new HashMap<>();
+            for (int i = 0; i < hotels.size(); i++) {
+                Hotel hotel = hotels.get(i);
+                names[i] = lower(hotel.getName());
+                locations[i] = lower(hotel.getLocation());
+                texts[i] = String.join("\n", names[i], locations[i],
+                                       lower(hotel.getDescription()), lower(hotel.getAmenities()));
+                amenities.addAll(hotel.getAmenityList());
+                amenityMasks[i] = dictionary.encode(hotel.getAmenities(), hotel.getAmenityList());
+                positions.put(hotel.getId(), i);
+            }
+            amenityNames = Collections.unmodifiableSet(amenities);
+            for (HotelSort sort : PAGED_SORTS) {
+                rankings.put(sort, new Ranking(hotels, sort, positions));
+            }
+            byRatingDesc = rankings.get(HotelSort.RATING).hotels;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.catalog.refresh-interval-ms:600000}",
+               fixedDelayString = "${app.catalog.refresh-interval-ms:600000}")
+    public synchronized void refresh() {
+        // Synchronized so a slower, older rebuild cannot publish its snapshot after a newer one
+        if (!enabled) {
+            return;
+        }
+        Snapshot fresh = new Snapshot(hotelRepository.findAll(),
+                                      groupRoomTypes(roomRepository.countAvailableRoomsByHotelAndType()),
+                                      amenityDictionary);
+        suggestIndex.rebuild(fresh.hotels);
+        geoIndex.rebuild(fresh.hotels);
+        searchIndex.rebuild(fresh.hotels);
+        snapshot = fresh;
+        log.debug("Hotel catalog refreshed with {} hotels", fresh.hotels.size());
+    }
+
+    /**
+     * Schedules a refresh on the background refresher and returns at once. Marks made while a
+     * refresh is queued are coalesced into it; a mark made while one is running queues another.
+     */
+    public void markDirty() {
+        if (enabled && dirty.compareAndSet(false, true)) {
+            refresher.execute(() -> {
+                dirty.set(false);
+                try {
+                    refresh();
+                } catch (RuntimeException e) {
+                    log.warn("Hotel catalog refresh failed", e);
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        refresher.shutdownNow();
+    }
+
+    public boolean isLoaded() {
+        return enabled && snapshot != null;
+    }
+
+    public List<Hotel> findAll() {
+        return snapshot.hotels;
+    }
+
+    public long count() {
+        return snapshot.hotels.size();
+    }
+
+    public Hotel findById(Long id) {
+        return snapshot.byId.get(id);
+    }
+
+    public List<Hotel> findByLocationContaining(String location) {
+        Snapshot s = snapshot;
+        return matching(s, s.locations, lower(location));
+    }
+
+    public List<Hotel> findByNameContaining(String name) {
+        Snapshot s = snapshot;
+        return matching(s, s.names, lower(name));
+    }
+
+    public List<Hotel> findByMinRating(double minRating) {
+        return filter(hotel -> hotel.getRating() != null && hotel.getRating() >= minRating);
+    }
+
+    public List<Hotel> findTopRated(int limit) {
+        List<Hotel> ranked = snapshot.byRatingDesc;
+        return ranked.subList(0, Math.min(limit, ranked.size()));
+    }
+
+    // Every amenity offered by some hotel, for the browse page filter
+    public Set<String> getAmenityNames() {
+        return snapshot.amenityNames;
+    }
+
+    public Set<String> getRoomTypes(Long hotelId) {
+        return snapshot.roomTypes.getOrDefault(hotelId, Set.of());
+    }
+
+    // Rows of [hotel id, room type, count] into each hotel's set of room types
+    static Map<Long, Set<String>> groupRoomTypes(List<Object[]> rows) {
+        Map<Long, Set<String>> types = new HashMap<>();
+        for (Object[] row : rows) {
+            types.computeIfAbsent((Long) row[0], id -> new TreeSet<>()).add((String) row[1]);
+        }
+        return types;
+    }
+
+    /**
+     * Up to {@code limit} hotels after the cursor in the sort's order that match the criteria.
+     * The start is found by binary search, and a bound on the sorted
+     * field (minimum rating, or the price limit in the direction of the sort) ends the scan
+     * at the first hotel past it.
+     */
+    List<Hotel> findPage(HotelSearchCriteria criteria, HotelSort sort, HotelCursor after, int limit) {
+        Snapshot s = snapshot;
+        Ranking ranking = s.rankings.get(sort);
+        String location = criteria.getLocation() == null ? null : lower(criteria.getLocation());
+        String text = criteria.getText() == null ? null : lower(criteria.getText());
+        long[] required = criteria.getAmenities().isEmpty() ? null : amenityDictionary.required(criteria.getAmenities());
+        if (required == null && !criteria.getAmenities().isEmpty()) {
+            // An amenity no hotel has ever offered
+            return List.of();
+        }
+        List<Hotel> page = new ArrayList<>();
+        for (int rank = firstAfter(ranking.hotels, after); rank < ranking.hotels.size() && page.size() < limit; rank++) {
+            Hotel hotel = ranking.hotels.get(rank);
+            if (pastEnd(hotel, sort, criteria)) {
+                break;
+            }
+            int index = ranking.index[rank];
+            if (withinBounds(hotel, criteria)
+                    && (location == null || s.locations[index].contains(location))
+                    && (text == null || s.texts[index].contains(text))
+                    && (required == null || AmenityDictionary.containsAll(s.amenityMasks[index], required))) {
+                page.add(hotel);
+            }
+        }
+        return page;
+    }
+
+    static boolean withinBounds(Hotel hotel, HotelSearchCriteria criteria) {
+        Double rating = hotel.getRating();
+        Double price = hotel.getStartingPrice();
+        return (criteria.getMinRating() == null || (rating != null && rating >= criteria.getMinRating()))
+            && (criteria.getMinPrice() == null || (price != null && price >= criteria.getMinPrice()))
+            && (criteria.getMaxPrice() == null || (price != null && price <= criteria.getMaxPrice()));
+    }
+
+    // Whether the hotel misses the bound on the sorted field, and so does every later one
+    private static boolean pastEnd(Hotel hotel, HotelSort sort, HotelSearchCriteria criteria) {
+        Double key = sort.keyOf(hotel);
+        return switch (sort) {
+            case RATING -> criteria.getMinRating() != null && (key == null || key < criteria.getMinRating());
+            case PRICE_LOW -> criteria.getMaxPrice() != null && (key == null || key > criteria.getMaxPrice());
+            case PRICE_HIGH -> criteria.getMinPrice() != null && (key == null || key < criteria.getMinPrice());
+            default -> false;
+        };
+    }
+
+    private static int firstAfter(List<Hotel> ranked, HotelCursor after) {
+        if (after == null) {
+            return 0;
+        }
+        int low = 0;
+        int high = ranked.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (after.precedes(ranked.get(mid))) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private List<Hotel> filter(Predicate<Hotel> predicate) {
+        return snapshot.hotels.stream().filter(predicate).toList();
+    }
+
+    private static List<Hotel> matching(Snapshot s, String[] field, String needle) {
+        List<Hotel> result = new ArrayList<>();
+        for (int i = 0; i < field.length; i++) {
+            if (field[i].contains(needle)) {
+                result.add(s.hotels.get(i));
+            }
+        }
+        return result;
+    }
+
+    private static String lower(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+}
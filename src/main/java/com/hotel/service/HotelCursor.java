@@ -0,0 +1,83 @@
+package com.hotel.service;
+
+import com.hotel.dto.HotelSort;
+import com.hotel.model.Hotel;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Comparator;
+
+/**
+ * Position in a hotel listing order: the sort key of the last hotel shown and its id. Encoded
+ * with the sort as an opaque URL-safe token so pages link to each other without exposing or
+ * trusting raw values; the next page starts strictly after this position.
+ */
+final class HotelCursor {
+
+    private final HotelSort sort;
+    private final Double key;
+    private final long id;
+
+    HotelCursor(HotelSort sort, Double key, long id) {
+        this.sort = sort;
+        this.key = key;
+        this.id = id;
+    }
+
+    static HotelCursor of(Hotel hotel, HotelSort sort) {
+        return new HotelCursor(sort, sort.keyOf(hotel), hotel.getId());
+    }
+
+    Double getKey() {
+        return key;
+    }
+
+    long getId() {
+        return id;
+    }
+
+    // Listing order for the sort: key in the sort's direction, missing keys last, then id
+    static Comparator<Hotel> order(HotelSort sort) {
+        return (a, b) -> {
+            int byKey = compareKeys(sort.keyOf(a), sort.keyOf(b), sort.isDescending());
+            return byKey != 0 ? byKey : a.getId().compareTo(b.getId());
+        };
+    }
+
+    // True when the hotel comes after this position in listing order
+    boolean precedes(Hotel hotel) {
+        int byKey = compareKeys(key, sort.keyOf(hotel), sort.isDescending());
+        return byKey != 0 ? byKey < 0 : hotel.getId() > id;
+    }
+
+    private static int compareKeys(Double a, Double b, boolean descending) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : 1) : -1;
+        }
+        return descending ? Double.compare(b, a) : Double.compare(a, b);
+    }
+
+    String encode() {
+        String raw = sort.name() + ":" + (key == null ? "" : Double.toString(key)) + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token from {@link #encode}. A missing or malformed token, or one made for a
+     * different sort, means the first page.
+     */
+    static HotelCursor decode(String token, HotelSort sort) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":", -1);
+            if (parts.length != 3 || !parts[0].equals(sort.name())) {
+                return null;
+            }
+            return new HotelCursor(sort, parts[1].isEmpty() ? null : Double.valueOf(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.hotel.service;
+
+import com.hotel.dto.FacetCount;
+import com.hotel.dto.HotelFacets;
+import com.hotel.model.Hotel;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Accumulates every facet in a single pass over the matching hotels. Rating thresholds and
+ * price bands are fixed, so a hotel costs a few comparisons plus one map update for its
+ * location and each of its room types.
+ */
+class HotelFacetCounter {
+
+    private static final double[] RATING_THRESHOLDS = {4.5, 4.0, 3.5, 3.0};
+    // Price bands: under 100, 100 to 200, 200 to 300, 300 and over
+    private static final double[] PRICE_EDGES = {100, 200, 300};
+    // Room prices have two decimals, so a band's last price is one cent below its upper edge
+    private static final BigDecimal CENT = new BigDecimal("0.01");
+
+    private final int maxValues;
+    private final Map<String, Long> locations = new HashMap<>();
+    private final long[] ratings = new long[RATING_THRESHOLDS.length];
+    private final long[] prices = new long[PRICE_EDGES.length + 1];
+    private final Map<String, Long> roomTypes = new HashMap<>();
+    private long total;
+
+    // maxValues caps the location and room type facets to their most frequent values
+    HotelFacetCounter(int maxValues) {
+        this.maxValues = maxValues;
+    }
+
+    void add(Hotel hotel, Collection<String> hotelRoomTypes) {
+        total++;
+        if (hotel.getLocation() != null) {
+            locations.merge(hotel.getLocation(), 1L, Long::sum);
+        }
+        Double rating = hotel.getRating();
+        if (rating != null) {
+            for (int i = RATING_THRESHOLDS.length - 1; i >= 0 && rating >= RATING_THRESHOLDS[i]; i--) {
+                ratings[i]++;
+            }
+        }
+        Double price = hotel.getStartingPrice();
+        if (price != null) {
+            int band = 0;
+            while (band < PRICE_EDGES.length && price >= PRICE_EDGES[band]) {
+                band++;
+            }
+            prices[band]++;
+        }
+        for (String type : hotelRoomTypes) {
+            roomTypes.merge(type, 1L, Long::sum);
+        }
+    }
+
+    HotelFacets toFacets() {
+        List<FacetCount> ratingFacets = new ArrayList<>();
+        for (int i = 0; i < RATING_THRESHOLDS.length; i++) {
+            if (ratings[i] > 0) {
+                double threshold = RATING_THRESHOLDS[i];
+                ratingFacets.add(new FacetCount(threshold + "+ stars", null, threshold, null, ratings[i]));
+            }
+        }
+        List<FacetCount> priceFacets = new ArrayList<>();
+        for (int band = 0; band < prices.length; band++) {
+            if (prices[band] > 0) {
+                Double min = band == 0 ? null : PRICE_EDGES[band - 1];
+                Double edge = band == PRICE_EDGES.length ? null : PRICE_EDGES[band];
+                // The search's maxPrice is inclusive, so link the band by its last price, not its edge
+                Double max = edge == null ? null : BigDecimal.valueOf(edge).subtract(CENT).doubleValue();
+                priceFacets.add(new FacetCount(priceLabel(min, edge), null, min, max, prices[band]));
+            }
+        }
+        return new HotelFacets(total, top(locations), ratingFacets, priceFacets, top(roomTypes));
+    }
+
+    private List<FacetCount> top(Map<String, Long> counts) {
+        return counts.entrySet().stream()
+            .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+            .limit(maxValues)
+            .map(entry -> new FacetCount(entry.getKey(), entry.getKey(), null, null, entry.getValue()))
+            .toList();
+    }
+
+    private static String priceLabel(Double min, Double max) {
+        if (min == null) {
+            return String.format("under $%.0f", max);
+        }
+        return max == null ? String.format("$%.0f+", min) : String.format("$%.0f-$%.0f", min, max);
+    }
+}
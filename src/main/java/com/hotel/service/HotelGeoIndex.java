@@ -0,0 +1,161 @@
+package com.hotel.service;
+
+import com.hotel.dto.NearbyHotel;
+import com.hotel.model.Hotel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Uniform latitude/longitude grid over the hotels that have coordinates. A radius or box
+ * search visits only the cells overlapping its bounding box and measures the exact great
+ * circle distance just for the hotels in them. The grid is immutable once built;
+ * {@link HotelCatalog} rebuilds it with each catalog snapshot and swaps the reference.
+ */
+@Component
+public class HotelGeoIndex {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    private static final Comparator<NearbyHotel> BY_DISTANCE = Comparator
+        .comparingDouble(NearbyHotel::getDistanceKm)
+        .thenComparing(NearbyHotel::getHotelId);
+
+    private final double cellDegrees;
+    private final int rows;
+    private final int columns;
+
+    // row * columns + column -> hotels in that cell
+    private volatile Map<Long, List<Hotel>> cells;
+
+    public HotelGeoIndex(@Value("${app.geo.cell-degrees:0.1}") double cellDegrees) {
+        if (cellDegrees <= 0 || cellDegrees > 90) {
+            throw new IllegalArgumentException("Grid cell size must be between 0 and 90 degrees");
+        }
+        this.cellDegrees = cellDegrees;
+        this.rows = (int) Math.ceil(180 / cellDegrees);
+        this.columns = (int) Math.ceil(360 / cellDegrees);
+    }
+
+    public void rebuild(List<Hotel> hotels) {
+        Map<Long, List<Hotel>> fresh = new HashMap<>();
+        for (Hotel hotel : hotels) {
+            if (hotel.getLatitude() != null && hotel.getLongitude() != null) {
+                long cell = (long) row(hotel.getLatitude()) * columns + column(hotel.getLongitude());
+                fresh.computeIfAbsent(cell, c -> new ArrayList<>()).add(hotel);
+            }
+        }
+        cells = fresh;
+    }
+
+    public boolean isLoaded() {
+        return cells != null;
+    }
+
+    /**
+     * Hotels within radiusKm of the point, nearest first.
+     */
+    public List<NearbyHotel> withinRadius(double latitude, double longitude, double radiusKm, int limit) {
+        double latitudeSpan = latitudeSpan(radiusKm);
+        double longitudeSpan = longitudeSpan(latitude, latitudeSpan);
+        List<NearbyHotel> found = new ArrayList<>();
+        visit(latitude - latitudeSpan, latitude + latitudeSpan, longitude - longitudeSpan, longitude + longitudeSpan,
+              hotel -> {
+                  double distance = distanceKm(latitude, longitude, hotel.getLatitude(), hotel.getLongitude());
+                  if (distance <= radiusKm) {
+                      found.add(new NearbyHotel(hotel, distance));
+                  }
+              });
+        return nearest(found, limit);
+    }
+
+    /**
+     * Hotels inside the box, nearest to its centre first. A box with minLongitude greater than
+     * maxLongitude crosses the antimeridian.
+     */
+    public List<NearbyHotel> withinBox(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude,
+                                       int limit) {
+        double eastEdge = maxLongitude < minLongitude ? maxLongitude + 360 : maxLongitude;
+        double centreLatitude = (minLatitude + maxLatitude) / 2;
+        double centreLongitude = normalizeLongitude((minLongitude + eastEdge) / 2);
+        List<NearbyHotel> found = new ArrayList<>();
+        visit(minLatitude, maxLatitude, minLongitude, eastEdge, hotel -> {
+            double latitude = hotel.getLatitude();
+            double longitude = hotel.getLongitude() < minLongitude ? hotel.getLongitude() + 360 : hotel.getLongitude();
+            if (latitude >= minLatitude && latitude <= maxLatitude && longitude <= eastEdge) {
+                found.add(new NearbyHotel(hotel, distanceKm(centreLatitude, centreLongitude, latitude, hotel.getLongitude())));
+            }
+        });
+        return nearest(found, limit);
+    }
+
+    // Calls visitor for every hotel in the cells overlapping the box; west may be below -180 and east above 180
+    private void visit(double south, double north, double west, double east, Consumer<Hotel> visitor) {
+        Map<Long, List<Hotel>> grid = cells;
+        if (grid == null || grid.isEmpty()) {
+            return;
+        }
+        int firstRow = row(south);
+        int lastRow = row(north);
+        long firstColumn = (long) Math.floor((west + 180) / cellDegrees);
+        long lastColumn = (long) Math.floor((east + 180) / cellDegrees);
+        if (lastColumn - firstColumn + 1 >= columns) {
+            // Wraps all the way round: visit each column once
+            firstColumn = 0;
+            lastColumn = columns - 1;
+        }
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (long column = firstColumn; column <= lastColumn; column++) {
+                List<Hotel> hotels = grid.get((long) row * columns + Math.floorMod(column, columns));
+                if (hotels != null) {
+                    hotels.forEach(visitor);
+                }
+            }
+        }
+    }
+
+    private static List<NearbyHotel> nearest(List<NearbyHotel> found, int limit) {
+        found.sort(BY_DISTANCE);
+        return found.size() > limit ? new ArrayList<>(found.subList(0, limit)) : found;
+    }
+
+    private int row(double latitude) {
+        return Math.min(rows - 1, (int) Math.floor((Math.max(-90, Math.min(90, latitude)) + 90) / cellDegrees));
+    }
+
+    private int column(double longitude) {
+        return Math.floorMod((int) Math.floor((normalizeLongitude(longitude) + 180) / cellDegrees), columns);
+    }
+
+    private static double normalizeLongitude(double longitude) {
+        return ((longitude + 180) % 360 + 360) % 360 - 180;
+    }
+
+    // Degrees of latitude covering radiusKm
+    static double latitudeSpan(double radiusKm) {
+        return radiusKm / KM_PER_DEGREE;
+    }
+
+    // Degrees of longitude covering the same distance; a degree is shortest on the side nearer a pole
+    static double longitudeSpan(double latitude, double latitudeSpan) {
+        double cosine = Math.cos(Math.toRadians(Math.min(90, Math.abs(latitude) + latitudeSpan)));
+        return cosine < 1e-9 ? 180 : Math.min(180, latitudeSpan / cosine);
+    }
+
+    // Haversine great circle distance
+    static double distanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double dLatitude = Math.toRadians(latitude2 - latitude1);
+        double dLongitude = Math.toRadians(longitude2 - longitude1);
+        double a = Math.sin(dLatitude / 2) * Math.sin(dLatitude / 2)
+            + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2))
+              * Math.sin(dLongitude / 2) * Math.sin(dLongitude / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+}
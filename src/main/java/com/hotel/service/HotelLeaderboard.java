@@ -0,0 +1,163 @@
+package com.hotel.service;
+
+import com.hotel.model.Hotel;
+import com.hotel.repository.HotelRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Rated hotels kept in rating order, globally and per city, in concurrent skip lists. The top
+ * K of any board is the first K entries, read without locking; a rating change moves one entry
+ * in O(log n) instead of re-sorting the table. Writers serialize on the leaderboard; a reader
+ * racing an update may see the moved hotel at its old or new rating, or briefly miss it.
+ */
+@Component
+public class HotelLeaderboard {
+
+    private static final Logger log = LoggerFactory.getLogger(HotelLeaderboard.class);
+
+    private static final Comparator<Entry> BY_RATING = Comparator
+        .comparingDouble((Entry entry) -> entry.rating).reversed()
+        .thenComparingLong(entry -> entry.hotelId);
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    private final boolean enabled;
+
+    private volatile Boards boards;
+
+    private static final class Entry {
+        final long hotelId;
+        final double rating;
+        final String city;
+        final Hotel hotel;
+
+        Entry(Hotel hotel) {
+            this.hotelId = hotel.getId();
+            this.rating = hotel.getRating();
+            this.city = cityKey(hotel.getLocation());
+            this.hotel = hotel;
+        }
+    }
+
+    private static final class Boards {
+        final NavigableSet<Entry> global = new ConcurrentSkipListSet<>(BY_RATING);
+        final Map<String, NavigableSet<Entry>> byCity = new ConcurrentHashMap<>();
+        // The entry currently on the boards for each hotel
+        final Map<Long, Entry> current = new ConcurrentHashMap<>();
+
+        void add(Hotel hotel) {
+            Entry entry = new Entry(hotel);
+            current.put(entry.hotelId, entry);
+            global.add(entry);
+            byCity.computeIfAbsent(entry.city, city -> new ConcurrentSkipListSet<>(BY_RATING)).add(entry);
+        }
+
+        void remove(Long hotelId) {
+            Entry entry = current.remove(hotelId);
+            if (entry == null) {
+                return;
+            }
+            global.remove(entry);
+            NavigableSet<Entry> city = byCity.get(entry.city);
+            if (city != null) {
+                city.remove(entry);
+            }
+        }
+    }
+
+    public HotelLeaderboard(@Value("${app.leaderboard.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        List<Hotel> hotels = hotelRepository.findAll();
+        rebuild(hotels);
+        log.debug("Hotel leaderboard built with {} rated hotels", boards.current.size());
+    }
+
+    // Replaces every board with ones built from the given hotels
+    public synchronized void rebuild(List<Hotel> hotels) {
+        Boards fresh = new Boards();
+        for (Hotel hotel : hotels) {
+            if (hotel.getId() != null && hotel.getRating() != null) {
+                fresh.add(hotel);
+            }
+        }
+        boards = fresh;
+    }
+
+    public boolean isLoaded() {
+        return enabled && boards != null;
+    }
+
+    // Moves the hotel to its current rating and city; an unrated hotel leaves the boards
+    public synchronized void update(Hotel hotel) {
+        if (!isLoaded() || hotel.getId() == null) {
+            return;
+        }
+        boards.remove(hotel.getId());
+        if (hotel.getRating() != null) {
+            boards.add(hotel);
+        }
+    }
+
+    public synchronized void remove(Long hotelId) {
+        if (isLoaded()) {
+            boards.remove(hotelId);
+        }
+    }
+
+    public List<Hotel> top(int k) {
+        return first(boards.global, k);
+    }
+
+    // Best rated hotels in the city of the given location ("Paris" and "Paris, France" are the same board)
+    public List<Hotel> top(String location, int k) {
+        NavigableSet<Entry> city = boards.byCity.get(cityKey(location));
+        return city == null ? List.of() : first(city, k);
+    }
+
+    private static List<Hotel> first(NavigableSet<Entry> board, int k) {
+        if (k <= 0) {
+            return List.of();
+        }
+        List<Hotel> hotels = new ArrayList<>(Math.min(k, 64));
+        // An iteration racing an update can meet the old and the new entry of the same hotel
+        Set<Long> seen = new HashSet<>();
+        Iterator<Entry> it = board.iterator();
+        while (hotels.size() < k && it.hasNext()) {
+            Entry entry = it.next();
+            if (seen.add(entry.hotelId)) {
+                hotels.add(entry.hotel);
+            }
+        }
+        return hotels;
+    }
+
+    private static String cityKey(String location) {
+        return HotelSuggestIndex.city(location).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,112 @@
+package com.hotel.service;
+
+import com.hotel.model.Hotel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Orders search results by a weighted sum of the {@link HotelScorer} signals and keeps only
+ * the best k in a bounded heap. Weights start from {@code app.ranking.weights.*} and can be
+ * replaced at runtime (see the "ranking" actuator endpoint); a search uses the weights that
+ * were current when it started.
+ */
+@Component
+public class HotelRanker {
+
+    private static final Logger log = LoggerFactory.getLogger(HotelRanker.class);
+
+    private static final String WEIGHT_PREFIX = "app.ranking.weights.";
+
+    private final List<HotelScorer> scorers;
+    private final Environment environment;
+
+    // Scorer name -> weight; replaced as a whole, never modified
+    private volatile Map<String, Double> weights;
+
+    private static final class Scored<T> {
+        final T item;
+        final long hotelId;
+        final double score;
+
+        Scored(T item, long hotelId, double score) {
+            this.item = item;
+            this.hotelId = hotelId;
+            this.score = score;
+        }
+    }
+
+    public HotelRanker(List<HotelScorer> scorers, Environment environment) {
+        this.scorers = List.copyOf(scorers);
+        this.environment = environment;
+        reloadWeights();
+    }
+
+    // Re-reads every weight from the environment, falling back to each scorer's default
+    public synchronized Map<String, Double> reloadWeights() {
+        Map<String, Double> fresh = new LinkedHashMap<>();
+        for (HotelScorer scorer : scorers) {
+            double weight = environment.getProperty(WEIGHT_PREFIX + scorer.name(), Double.class, scorer.defaultWeight());
+            fresh.put(scorer.name(), checked(scorer.name(), weight));
+        }
+        weights = Collections.unmodifiableMap(fresh);
+        log.info("Search ranking weights: {}", weights);
+        return weights;
+    }
+
+    public Map<String, Double> getWeights() {
+        return weights;
+    }
+
+    public synchronized Map<String, Double> setWeight(String name, double weight) {
+        if (!weights.containsKey(name)) {
+            throw new IllegalArgumentException("Unknown ranking signal: " + name);
+        }
+        Map<String, Double> fresh = new LinkedHashMap<>(weights);
+        fresh.put(name, checked(name, weight));
+        weights = Collections.unmodifiableMap(fresh);
+        log.info("Search ranking weight {} set to {}", name, weight);
+        return weights;
+    }
+
+    /**
+     * The k items with the highest score, best first; ties go to the lower hotel id.
+     */
+    public <T> List<T> top(Collection<T> items, Function<T, Hotel> hotelOf, RankingContext context, int k) {
+        Map<String, Double> current = weights;
+        TopK<Scored<T>> best = new TopK<>(k, Comparator.comparingDouble((Scored<T> scored) -> scored.score).reversed()
+            .thenComparingLong(scored -> scored.hotelId));
+        for (T item : items) {
+            Hotel hotel = hotelOf.apply(item);
+            best.offer(new Scored<>(item, hotel.getId(), score(hotel, context, current)));
+        }
+        return best.toList().stream().map(scored -> scored.item).toList();
+    }
+
+    private double score(Hotel hotel, RankingContext context, Map<String, Double> current) {
+        double total = 0;
+        for (HotelScorer scorer : scorers) {
+            double weight = current.get(scorer.name());
+            if (weight != 0) {
+                total += weight * scorer.score(hotel, context);
+            }
+        }
+        return total;
+    }
+
+    private static double checked(String name, double weight) {
+        if (!(weight >= 0) || Double.isInfinite(weight)) {
+            throw new IllegalArgumentException("Ranking weight for " + name + " must be a non-negative number");
+        }
+        return weight;
+    }
+}
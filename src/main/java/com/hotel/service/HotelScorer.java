@@ -0,0 +1,19 @@
+package com.hotel.service;
+
+import com.hotel.model.Hotel;
+
+/**
+ * One signal of the search ranking. Every scorer bean takes part in {@link HotelRanker};
+ * its weight is read from {@code app.ranking.weights.<name>} and can be changed at runtime.
+ */
+public interface HotelScorer {
+
+    // Key of the weight property; also shown by the ranking endpoint
+    String name();
+
+    // Weight used when no property is set
+    double defaultWeight();
+
+    // Score between 0 and 1, higher is better
+    double score(Hotel hotel, RankingContext context);
+}
@@ -0,0 +1,209 @@
+package com.hotel.service;
+
+import com.hotel.model.Hotel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over hotel name, location, description and amenities, ranked
+ * with BM25. Terms are kept sorted so a query token also matches every indexed term it is a
+ * prefix of ("lux" finds "luxury"), at a reduced weight. {@link HotelCatalog} rebuilds it
+ * from each catalog snapshot; in between it is updated per hotel through {@link #index} and
+ * {@link #remove}.
+ */
+@Component
+public class HotelSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(HotelSearchIndex.class);
+
+    // BM25 parameters
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // Field boosts: a term in the name counts three times as much as one in the description
+    private static final double NAME_WEIGHT = 3.0;
+    private static final double LOCATION_WEIGHT = 2.0;
+    private static final double AMENITIES_WEIGHT = 1.5;
+    private static final double DESCRIPTION_WEIGHT = 1.0;
+
+    // Prefix expansions score lower than exact term matches
+    private static final double PREFIX_WEIGHT = 0.5;
+    private static final int MIN_PREFIX_LENGTH = 2;
+
+    @Value("${app.search.index.enabled:true}")
+    private boolean enabled;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // term -> (hotel id -> weighted term frequency)
+    private final NavigableMap<String, Map<Long, Double>> postings = new TreeMap<>();
+    // hotel id -> its terms and weighted frequencies, used to unindex on update
+    private final Map<Long, Map<String, Double>> documents = new HashMap<>();
+    private final Map<Long, Double> lengths = new HashMap<>();
+    private double totalLength;
+    private volatile boolean loaded;
+
+    public void rebuild(List<Hotel> hotels) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            lengths.clear();
+            totalLength = 0;
+            hotels.forEach(this::add);
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("Hotel search index built with {} hotels and {} terms", hotels.size(), postings.size());
+    }
+
+    public boolean isLoaded() {
+        return enabled && loaded;
+    }
+
+    // Adds or replaces one hotel
+    public void index(Hotel hotel) {
+        if (!isLoaded() || hotel.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            unindex(hotel.getId());
+            add(hotel);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long hotelId) {
+        if (!isLoaded()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            unindex(hotelId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Hotel ids matching any query token, best BM25 score first.
+     */
+    public List<Long> search(String query, int limit) {
+        TopK<Map.Entry<Long, Double>> best = new TopK<>(limit,
+            Map.Entry.<Long, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        scores(query).entrySet().forEach(best::offer);
+        return best.toList().stream().map(Map.Entry::getKey).toList();
+    }
+
+    /**
+     * BM25 score of every hotel matching any query token, for callers that rank on more than text.
+     */
+    public Map<Long, Double> scores(String query) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            int documentCount = documents.size();
+            double averageLength = documentCount == 0 ? 0 : totalLength / documentCount;
+            for (String token : new LinkedHashSet<>(tokens)) {
+                Map<Long, Double> exact = postings.get(token);
+                if (exact != null) {
+                    accumulate(scores, exact, 1.0, documentCount, averageLength);
+                }
+                if (token.length() >= MIN_PREFIX_LENGTH) {
+                    for (Map.Entry<String, Map<Long, Double>> entry
+                            : postings.subMap(token, false, token + Character.MAX_VALUE, false).entrySet()) {
+                        accumulate(scores, entry.getValue(), PREFIX_WEIGHT, documentCount, averageLength);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return scores;
+    }
+
+    private void accumulate(Map<Long, Double> scores, Map<Long, Double> posting, double weight,
+                            int documentCount, double averageLength) {
+        double idf = Math.log(1 + (documentCount - posting.size() + 0.5) / (posting.size() + 0.5));
+        for (Map.Entry<Long, Double> entry : posting.entrySet()) {
+            double tf = entry.getValue();
+            double norm = averageLength == 0 ? 1 : lengths.get(entry.getKey()) / averageLength;
+            double score = idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * norm));
+            scores.merge(entry.getKey(), weight * score, Double::sum);
+        }
+    }
+
+    private void add(Hotel hotel) {
+        Map<String, Double> terms = new HashMap<>();
+        addField(terms, hotel.getName(), NAME_WEIGHT);
+        addField(terms, hotel.getLocation(), LOCATION_WEIGHT);
+        addField(terms, hotel.getAmenities(), AMENITIES_WEIGHT);
+        addField(terms, hotel.getDescription(), DESCRIPTION_WEIGHT);
+
+        double length = 0;
+        for (Map.Entry<String, Double> term : terms.entrySet()) {
+            postings.computeIfAbsent(term.getKey(), t -> new HashMap<>()).put(hotel.getId(), term.getValue());
+            length += term.getValue();
+        }
+        documents.put(hotel.getId(), terms);
+        lengths.put(hotel.getId(), length);
+        totalLength += length;
+    }
+
+    private void unindex(Long hotelId) {
+        Map<String, Double> terms = documents.remove(hotelId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms.keySet()) {
+            Map<Long, Double> posting = postings.get(term);
+            posting.remove(hotelId);
+            if (posting.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= lengths.remove(hotelId);
+    }
+
+    private static void addField(Map<String, Double> terms, String text, double weight) {
+        for (String token : tokenize(text)) {
+            terms.merge(token, weight, Double::sum);
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -1,12 +1,37 @@
 package com.hotel.service;
 
+import com.hotel.dto.HotelAvailabilityPage;
+import com.hotel.dto.HotelAvailabilitySummary;
+import com.hotel.dto.HotelFacets;
+import com.hotel.dto.HotelPage;
+import com.hotel.dto.HotelSearchCriteria;
+import com.hotel.dto.HotelSort;
+import com.hotel.dto.NearbyHotel;
+import com.hotel.dto.SearchSuggestion;
 import com.hotel.model.Hotel;
 import com.hotel.repository.HotelRepository;
+import com.hotel.repository.HotelSpecifications;
+import com.hotel.repository.RoomRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class HotelService {
@@ -14,24 +39,401 @@ public class HotelService {
     @Autowired
     private HotelRepository hotelRepository;
 
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomHoldStore roomHolds;
+
+    @Autowired
+    private HotelCatalog hotelCatalog;
+
+    @Autowired
+    private HotelSearchIndex searchIndex;
+
+    @Autowired
+    private HotelSuggestIndex suggestIndex;
+
+    @Autowired
+    private AmenityDictionary amenityDictionary;
+
+    @Autowired
+    private HotelGeoIndex geoIndex;
+
+    @Autowired
+    private HotelLeaderboard leaderboard;
+
+    @Autowired
+    private HotelRanker hotelRanker;
+
+    @Value("${app.search.max-results:50}")
+    private int maxSearchResults;
+
+    @Value("${app.hotels.page-size:12}")
+    private int defaultPageSize;
+
+    @Value("${app.hotels.max-page-size:48}")
+    private int maxPageSize;
+
+    @Value("${app.hotels.facets.max-values:10}")
+    private int maxFacetValues;
+
+    @Value("${app.geo.max-radius-km:100}")
+    private double maxRadiusKm;
+
+    @Value("${app.geo.max-results:100}")
+    private int maxGeoResults;
+
+    // The list and filter reads below are served from the catalog snapshot once it is loaded
+
     public List<Hotel> getAllHotels() {
-        return hotelRepository.findAll();
+        return hotelCatalog.isLoaded() ? hotelCatalog.findAll() : hotelRepository.findAll();
     }
 
     public List<Hotel> searchHotelsByName(String name) {
-        return hotelRepository.findByNameContainingIgnoreCase(name);
+        return hotelCatalog.isLoaded()
+            ? hotelCatalog.findByNameContaining(name)
+            : hotelRepository.findByNameContainingIgnoreCase(name);
     }
 
     public List<Hotel> getHotelsByLocation(String location) {
-        return hotelRepository.findByLocationContainingIgnoreCase(location);
+        return hotelCatalog.isLoaded()
+            ? hotelCatalog.findByLocationContaining(location)
+            : hotelRepository.findByLocationContainingIgnoreCase(location);
     }
 
     public List<Hotel> getHotelsByRating(Double minRating) {
-        return hotelRepository.findByRatingGreaterThanEqual(minRating);
+        return hotelCatalog.isLoaded()
+            ? hotelCatalog.findByMinRating(minRating)
+            : hotelRepository.findByRatingGreaterThanEqual(minRating);
+    }
+
+    // Keyset-paged listings, best rated first; cursor is the nextCursor of the previous page (null for the first)
+
+    public HotelPage getHotelsPage(String cursor, Integer size, Collection<String> amenities) {
+        return searchHotels(criteria(null, null, amenities), cursor, size);
+    }
+
+    public HotelPage getHotelsByLocationPage(String location, String cursor, Integer size, Collection<String> amenities) {
+        return searchHotels(criteria(location, null, amenities), cursor, size);
+    }
+
+    public HotelPage getHotelsByRatingPage(Double minRating, String cursor, Integer size, Collection<String> amenities) {
+        return searchHotels(criteria(null, minRating, amenities), cursor, size);
+    }
+
+    private static HotelSearchCriteria criteria(String location, Double minRating, Collection<String> amenities) {
+        HotelSearchCriteria criteria = new HotelSearchCriteria();
+        criteria.setLocation(location);
+        criteria.setMinRating(minRating);
+        criteria.setAmenities(amenities == null ? null : List.copyOf(amenities));
+        return criteria;
+    }
+
+    /**
+     * Hotels matching every given criterion, in the requested order. Rating and price orders
+     * are keyset paged over one query (or one catalog scan) per page; relevance order ranks
+     * the text matches by {@link HotelRanker} and returns a single capped page.
+     */
+    public HotelPage searchHotels(HotelSearchCriteria criteria, String cursor, Integer size) {
+        HotelSort sort = criteria.getSort();
+        if (sort == HotelSort.RELEVANCE) {
+            Map<Long, Double> scores = textScores(criteria.getText());
+            List<Hotel> matching = relevanceMatches(criteria, scores);
+            return new HotelPage(hotelRanker.top(matching, Function.identity(), new RankingContext(matching, scores, null),
+                                                 maxSearchResults), null);
+        }
+        int pageSize = pageSize(size);
+        HotelCursor after = HotelCursor.decode(cursor, sort);
+        // One row past the page tells whether there is a next page
+        List<Hotel> hotels = fetchAfter(criteria, sort, after, pageSize + 1);
+        if (hotels.size() <= pageSize) {
+            return new HotelPage(hotels, null);
+        }
+        List<Hotel> shown = hotels.subList(0, pageSize);
+        return new HotelPage(shown, HotelCursor.of(shown.get(pageSize - 1), sort).encode());
+    }
+
+    private int pageSize(Integer size) {
+        return size == null || size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
+    }
+
+    private List<Hotel> fetchAfter(HotelSearchCriteria criteria, HotelSort sort, HotelCursor after, int limit) {
+        if (hotelCatalog.isLoaded()) {
+            return hotelCatalog.findPage(criteria, sort, after, limit);
+        }
+        Specification<Hotel> where = HotelSpecifications.matching(criteria);
+        if (after != null) {
+            where = where.and(HotelSpecifications.after(sort, after.getKey(), after.getId()));
+        }
+        return hotelRepository.findBy(where, query -> query.sortBy(HotelSpecifications.order(sort)).limit(limit).all());
+    }
+
+    private List<Hotel> relevanceMatches(HotelSearchCriteria criteria) {
+        return relevanceMatches(criteria, textScores(criteria.getText()));
+    }
+
+    // Text matches that also meet the other criteria, in no particular order
+    private List<Hotel> relevanceMatches(HotelSearchCriteria criteria, Map<Long, Double> scores) {
+        List<Hotel> matching = textMatches(criteria.getText(), scores).stream()
+            .filter(hotel -> matches(hotel, criteria, false))
+            .toList();
+        return filterByAmenities(matching, criteria.getAmenities());
+    }
+
+    /**
+     * Facet counts over every hotel matching the criteria, computed in one pass over the
+     * matching set: a catalog scan once it is loaded, otherwise one query.
+     */
+    public HotelFacets getFacets(HotelSearchCriteria criteria) {
+        List<Hotel> matching;
+        if (criteria.getSort() == HotelSort.RELEVANCE) {
+            matching = relevanceMatches(criteria);
+        } else if (hotelCatalog.isLoaded()) {
+            matching = hotelCatalog.findPage(criteria, criteria.getSort(), null, Integer.MAX_VALUE);
+        } else {
+            matching = hotelRepository.findAll(HotelSpecifications.matching(criteria));
+        }
+        return facetsOf(matching);
+    }
+
+    // Facet counts over an already selected set of hotels
+    public HotelFacets facetsOf(List<Hotel> hotels) {
+        Function<Long, Set<String>> roomTypes;
+        if (hotelCatalog.isLoaded()) {
+            roomTypes = hotelCatalog::getRoomTypes;
+        } else {
+            Map<Long, Set<String>> grouped = HotelCatalog.groupRoomTypes(roomRepository.countAvailableRoomsByHotelAndType());
+            roomTypes = id -> grouped.getOrDefault(id, Set.of());
+        }
+        HotelFacetCounter counter = new HotelFacetCounter(maxFacetValues);
+        hotels.forEach(hotel -> counter.add(hotel, roomTypes.apply(hotel.getId())));
+        return counter.toFacets();
+    }
+
+    // Criteria other than amenities checked in memory, for results not fetched by criteria
+    private static boolean matches(Hotel hotel, HotelSearchCriteria criteria, boolean checkText) {
+        return HotelCatalog.withinBounds(hotel, criteria)
+            && (criteria.getLocation() == null || contains(hotel.getLocation(), criteria.getLocation()))
+            && (!checkText || criteria.getText() == null
+                || contains(hotel.getName(), criteria.getText()) || contains(hotel.getLocation(), criteria.getText())
+                || contains(hotel.getDescription(), criteria.getText()) || contains(hotel.getAmenities(), criteria.getText()));
+    }
+
+    private static boolean contains(String field, String needle) {
+        return field != null && field.toLowerCase(Locale.ROOT).contains(needle.toLowerCase(Locale.ROOT));
+    }
+
+    // Amenities to offer as filters: every amenity in the catalog, or those of the shown hotels
+    public Set<String> getAmenityOptions(List<Hotel> shown) {
+        if (hotelCatalog.isLoaded()) {
+            return hotelCatalog.getAmenityNames();
+        }
+        Set<String> options = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        shown.forEach(hotel -> options.addAll(hotel.getAmenityList()));
+        return options;
+    }
+
+    // BM25 score of every hotel matching the text, or null when the index is not loaded
+    private Map<Long, Double> textScores(String text) {
+        return searchIndex.isLoaded() ? searchIndex.scores(text) : null;
+    }
+
+    // The scored hotels, or a LIKE search over the same fields when there are no scores
+    private List<Hotel> textMatches(String text, Map<Long, Double> scores) {
+        if (scores == null) {
+            return hotelRepository.comprehensiveSearch(text.trim());
+        }
+        if (hotelCatalog.isLoaded()) {
+            return scores.keySet().stream().map(hotelCatalog::findById).filter(Objects::nonNull).toList();
+        }
+        return hotelRepository.findAllById(scores.keySet());
+    }
+
+    // Hotels offering all of the given amenities (bitmask AND per hotel)
+    public List<Hotel> filterByAmenities(List<Hotel> hotels, Collection<String> amenities) {
+        return amenityDictionary.filterAll(hotels, Hotel::getAmenities, Hotel::getAmenityList, amenities);
+    }
+
+    // Hotels within radiusKm of the point, nearest first (radius and limit capped by app.geo.*)
+    public List<NearbyHotel> findNearby(double latitude, double longitude, double radiusKm, int limit) {
+        double radius = Math.min(radiusKm, maxRadiusKm);
+        int max = Math.min(limit, maxGeoResults);
+        if (geoIndex.isLoaded()) {
+            return geoIndex.withinRadius(latitude, longitude, radius, max);
+        }
+        // No grid without the catalog: query the enclosing box, then measure exactly
+        double latitudeSpan = HotelGeoIndex.latitudeSpan(radius);
+        double longitudeSpan = HotelGeoIndex.longitudeSpan(latitude, latitudeSpan);
+        List<Hotel> candidates = longitudeSpan >= 180
+            ? hotelRepository.findByLatitudeBetweenAndLongitudeBetween(latitude - latitudeSpan, latitude + latitudeSpan, -180.0, 180.0)
+            : boxCandidates(latitude - latitudeSpan, longitude - longitudeSpan, latitude + latitudeSpan, longitude + longitudeSpan);
+        return candidates.stream()
+            .map(hotel -> new NearbyHotel(hotel, HotelGeoIndex.distanceKm(latitude, longitude,
+                                                                          hotel.getLatitude(), hotel.getLongitude())))
+            .filter(nearby -> nearby.getDistanceKm() <= radius)
+            .sorted(Comparator.comparingDouble(NearbyHotel::getDistanceKm).thenComparing(NearbyHotel::getHotelId))
+            .limit(max)
+            .toList();
+    }
+
+    // Hotels inside the box, nearest to its centre first; minLongitude > maxLongitude crosses the antimeridian
+    public List<NearbyHotel> findInBox(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude,
+                                       int limit) {
+        int max = Math.min(limit, maxGeoResults);
+        if (geoIndex.isLoaded()) {
+            return geoIndex.withinBox(minLatitude, minLongitude, maxLatitude, maxLongitude, max);
+        }
+        double eastEdge = maxLongitude < minLongitude ? maxLongitude + 360 : maxLongitude;
+        double centreLatitude = (minLatitude + maxLatitude) / 2;
+        double centreLongitude = (minLongitude + eastEdge) / 2;
+        return boxCandidates(minLatitude, minLongitude, maxLatitude, eastEdge).stream()
+            .map(hotel -> new NearbyHotel(hotel, HotelGeoIndex.distanceKm(centreLatitude, centreLongitude,
+                                                                          hotel.getLatitude(), hotel.getLongitude())))
+            .sorted(Comparator.comparingDouble(NearbyHotel::getDistanceKm).thenComparing(NearbyHotel::getHotelId))
+            .limit(max)
+            .toList();
+    }
+
+    // Box query split in two where it crosses the antimeridian (west below -180 or east above 180)
+    private List<Hotel> boxCandidates(double south, double west, double north, double east) {
+        List<Hotel> hotels = new ArrayList<>();
+        if (west < -180) {
+            hotels.addAll(hotelRepository.findByLatitudeBetweenAndLongitudeBetween(south, north, west + 360, 180.0));
+            west = -180;
+        }
+        if (east > 180) {
+            hotels.addAll(hotelRepository.findByLatitudeBetweenAndLongitudeBetween(south, north, -180.0, east - 360));
+            east = 180;
+        }
+        hotels.addAll(hotelRepository.findByLatitudeBetweenAndLongitudeBetween(south, north, west, east));
+        return hotels;
+    }
+
+    // Typeahead: hotels and cities starting with the prefix, best rated first
+    public List<SearchSuggestion> suggest(String prefix, int limit) {
+        return suggestIndex.suggest(prefix, limit);
+    }
+
+    public Hotel saveHotel(Hotel hotel) {
+        Hotel saved = hotelRepository.save(hotel);
+        hotelCatalog.markDirty();
+        searchIndex.index(saved);
+        leaderboard.update(saved);
+        return saved;
+    }
+
+    // Recomputes every hotel's starting price and room count from the rooms table, e.g. after a bulk import
+    public int recomputeRoomSummaries() {
+        int updated = hotelRepository.recomputeRoomSummaries();
+        hotelCatalog.markDirty();
+        return updated;
+    }
+
+    public void deleteHotel(Long id) {
+        hotelRepository.deleteById(id);
+        hotelCatalog.markDirty();
+        searchIndex.remove(id);
+        leaderboard.remove(id);
+    }
+
+    // Hotels with a free room for the stay that also match the other criteria, in no particular order
+    public List<HotelAvailabilitySummary> searchAvailableHotels(HotelSearchCriteria criteria,
+                                                                LocalDate checkIn, LocalDate checkOut) {
+        List<HotelAvailabilitySummary> summaries = searchAvailableHotels(criteria.getLocation(), checkIn, checkOut).stream()
+            .filter(summary -> matches(summary.getHotel(), criteria, true))
+            .toList();
+        return amenityDictionary.filterAll(summaries, summary -> summary.getHotel().getAmenities(),
+                                           summary -> summary.getHotel().getAmenityList(), criteria.getAmenities());
+    }
+
+    /**
+     * One page of availability search results. Rating and price orders are keyset paged with
+     * the same cursor as the hotel listings; relevance order ranks the results by
+     * {@link HotelRanker} and returns a single page capped like the text search.
+     */
+    public HotelAvailabilityPage pageAvailableHotels(List<HotelAvailabilitySummary> summaries,
+                                                     HotelSearchCriteria criteria, String cursor, Integer size) {
+        HotelSort sort = criteria.getSort();
+        if (sort == HotelSort.RELEVANCE) {
+            List<Hotel> hotels = summaries.stream().map(HotelAvailabilitySummary::getHotel).toList();
+            Map<Long, Double> scores = criteria.getText() == null ? null : textScores(criteria.getText());
+            Map<Long, Long> freeRooms = summaries.stream()
+                .collect(Collectors.toMap(HotelAvailabilitySummary::getHotelId, HotelAvailabilitySummary::getFreeRooms));
+            return new HotelAvailabilityPage(hotelRanker.top(summaries, HotelAvailabilitySummary::getHotel,
+                                                             new RankingContext(hotels, scores, freeRooms),
+                                                             maxSearchResults), null);
+        }
+        int pageSize = pageSize(size);
+        HotelCursor after = HotelCursor.decode(cursor, sort);
+        Comparator<Hotel> order = HotelCursor.order(sort);
+        List<HotelAvailabilitySummary> page = summaries.stream()
+            .filter(summary -> after == null || after.precedes(summary.getHotel()))
+            .sorted((a, b) -> order.compare(a.getHotel(), b.getHotel()))
+            .limit(pageSize + 1L)
+            .toList();
+        if (page.size() <= pageSize) {
+            return new HotelAvailabilityPage(page, null);
+        }
+        List<HotelAvailabilitySummary> shown = page.subList(0, pageSize);
+        return new HotelAvailabilityPage(shown, HotelCursor.of(shown.get(pageSize - 1).getHotel(), sort).encode());
+    }
+
+    // Hotels in a location with at least one free room for the stay, best rated first
+    public List<HotelAvailabilitySummary> searchAvailableHotels(String location, LocalDate checkIn, LocalDate checkOut) {
+        // Rooms someone is in the middle of booking do not count as free
+        Set<Long> held = roomHolds.findHeldRoomIds(checkIn, checkOut, null);
+        List<HotelAvailabilitySummary> summaries = held.isEmpty()
+            ? roomRepository.summarizeAvailabilityByLocation(location.trim(), checkIn, checkOut)
+            : roomRepository.summarizeAvailabilityByLocationExcluding(location.trim(), checkIn, checkOut, held);
+        if (summaries.isEmpty()) {
+            return summaries;
+        }
+        if (hotelCatalog.isLoaded()) {
+            summaries.forEach(summary -> summary.setHotel(hotelCatalog.findById(summary.getHotelId())));
+        }
+        // Hotels the catalog does not have, e.g. added since its last refresh
+        List<Long> missing = summaries.stream()
+            .filter(summary -> summary.getHotel() == null)
+            .map(HotelAvailabilitySummary::getHotelId)
+            .toList();
+        if (!missing.isEmpty()) {
+            Map<Long, Hotel> hotels = hotelRepository.findAllById(missing).stream()
+                .collect(Collectors.toMap(Hotel::getId, Function.identity()));
+            summaries.stream()
+                .filter(summary -> summary.getHotel() == null)
+                .forEach(summary -> summary.setHotel(hotels.get(summary.getHotelId())));
+        }
+        return summaries.stream()
+            .filter(summary -> summary.getHotel() != null)
+            .sorted(Comparator.comparing((HotelAvailabilitySummary summary) -> summary.getHotel().getRating(),
+                                         Comparator.nullsLast(Comparator.reverseOrder())))
+            .toList();
     }
 
     public List<Hotel> getTopRatedHotels() {
-        return hotelRepository.findTop10ByOrderByRatingDesc();
+        return getTopRatedHotels(10);
+    }
+
+    // Best rated hotels from the maintained leaderboard, falling back to a sorted read
+    public List<Hotel> getTopRatedHotels(int k) {
+        if (leaderboard.isLoaded()) {
+            return leaderboard.top(k);
+        }
+        if (hotelCatalog.isLoaded()) {
+            return hotelCatalog.findTopRated(k);
+        }
+        return hotelRepository.findAll(PageRequest.of(0, k, Sort.by(Sort.Order.desc("rating")))).getContent();
+    }
+
+    // Best rated hotels in the location's city
+    public List<Hotel> getTopRatedHotels(String location, int k) {
+        if (leaderboard.isLoaded()) {
+            return leaderboard.top(location, k);
+        }
+        HotelSearchCriteria criteria = new HotelSearchCriteria();
+        criteria.setLocation(location);
+        return searchHotels(criteria, null, k).getHotels();
     }
 
     // Add this missing method - returns Optional<Hotel>
@@ -45,6 +447,6 @@ public class HotelService {
     }
 
     public long getTotalHotels() {
-        return hotelRepository.count();
+        return hotelCatalog.isLoaded() ? hotelCatalog.count() : hotelRepository.count();
     }
 }
\ No newline at end of file
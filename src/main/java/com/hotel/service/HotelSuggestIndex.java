@@ -0,0 +1,136 @@
+package com.hotel.service;
+
+import com.hotel.dto.SearchSuggestion;
+import com.hotel.model.Hotel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Prefix trie of hotel names and cities for typeahead. Every node stores its top-k
+ * suggestions by rating, computed when the trie is built, so a lookup is a walk down the
+ * prefix and a copy of at most k entries. The trie is immutable once built;
+ * {@link HotelCatalog} rebuilds it with each catalog snapshot and swaps the reference.
+ */
+@Component
+public class HotelSuggestIndex {
+
+    public static final String TYPE_HOTEL = "hotel";
+    public static final String TYPE_CITY = "city";
+
+    private static final Comparator<SearchSuggestion> BY_RATING = Comparator
+        .comparing(SearchSuggestion::getRating, Comparator.nullsLast(Comparator.reverseOrder()))
+        .thenComparing(SearchSuggestion::getText);
+
+    private final int maxSuggestions;
+
+    private volatile Node root = new Node();
+
+    private static final class Node {
+        final Map<Character, Node> children = new HashMap<>();
+        final List<SearchSuggestion> terminals = new ArrayList<>();
+        SearchSuggestion[] top = new SearchSuggestion[0];
+    }
+
+    public HotelSuggestIndex(@Value("${app.suggest.max-results:10}") int maxSuggestions) {
+        this.maxSuggestions = maxSuggestions;
+    }
+
+    public void rebuild(List<Hotel> hotels) {
+        Node fresh = new Node();
+        Map<String, SearchSuggestion> cities = new LinkedHashMap<>();
+        for (Hotel hotel : hotels) {
+            if (hotel.getName() == null) {
+                continue;
+            }
+            SearchSuggestion suggestion = new SearchSuggestion(hotel.getName(), TYPE_HOTEL, hotel.getId(), hotel.getRating());
+            // The full name and each later word, so "roma" finds "Grand Roma"
+            for (String key : wordStarts(hotel.getName())) {
+                insert(fresh, key, suggestion);
+            }
+            String city = city(hotel.getLocation());
+            if (!city.isEmpty()) {
+                // A city is ranked by its best hotel
+                cities.merge(normalize(city), new SearchSuggestion(city, TYPE_CITY, null, hotel.getRating()),
+                             (a, b) -> BY_RATING.compare(a, b) <= 0 ? a : b);
+            }
+        }
+        cities.forEach((key, suggestion) -> insert(fresh, key, suggestion));
+        computeTop(fresh);
+        root = fresh;
+    }
+
+    /**
+     * Up to {@code limit} suggestions whose name or city starts with the prefix, best rated first.
+     */
+    public List<SearchSuggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+        SearchSuggestion[] top = node.top;
+        return List.of(top).subList(0, Math.min(Math.min(limit, maxSuggestions), top.length));
+    }
+
+    private static void insert(Node root, String key, SearchSuggestion suggestion) {
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+        }
+        node.terminals.add(suggestion);
+    }
+
+    // Post-order: a node's top-k is the best k of its own entries and its children's top-k
+    private List<SearchSuggestion> computeTop(Node node) {
+        List<SearchSuggestion> candidates = new ArrayList<>(node.terminals);
+        for (Node child : node.children.values()) {
+            candidates.addAll(computeTop(child));
+        }
+        List<SearchSuggestion> best = candidates.stream()
+            .distinct()
+            .sorted(BY_RATING)
+            .limit(maxSuggestions)
+            .toList();
+        node.top = best.toArray(new SearchSuggestion[0]);
+        return best;
+    }
+
+    private static List<String> wordStarts(String name) {
+        String normalized = normalize(name);
+        List<String> keys = new ArrayList<>();
+        keys.add(normalized);
+        for (int i = 1; i < normalized.length(); i++) {
+            if (normalized.charAt(i - 1) == ' ' && normalized.charAt(i) != ' ') {
+                keys.add(normalized.substring(i));
+            }
+        }
+        return keys;
+    }
+
+    // "Paris, France" -> "Paris"
+    static String city(String location) {
+        if (location == null) {
+            return "";
+        }
+        int comma = location.indexOf(',');
+        return (comma < 0 ? location : location.substring(0, comma)).trim();
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+}
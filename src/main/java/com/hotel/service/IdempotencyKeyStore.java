@@ -0,0 +1,87 @@
+package com.hotel.service;
+
+import com.hotel.model.Booking;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Remembers the outcome of recent booking submissions by (user, idempotency key), so a
+ * resubmitted form gets the original booking back instead of being booked or rejected again.
+ * Entries expire after a fixed time and the oldest are evicted once the store is full.
+ */
+@Component
+public class IdempotencyKeyStore {
+
+    private final int maxKeys;
+    private final long ttlMillis;
+
+    // Insertion order, so the eldest entry is both the LRU victim and the first to expire
+    private final LinkedHashMap<String, Entry> entries;
+
+    private static final class Entry {
+        final CompletableFuture<Booking> result;
+        final long createdAt;
+
+        Entry(CompletableFuture<Booking> result, long createdAt) {
+            this.result = result;
+            this.createdAt = createdAt;
+        }
+    }
+
+    public IdempotencyKeyStore(@Value("${app.booking.idempotency.max-keys:10000}") int maxKeys,
+                               @Value("${app.booking.idempotency.ttl-ms:3600000}") long ttlMillis) {
+        this.maxKeys = maxKeys;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > IdempotencyKeyStore.this.maxKeys;
+            }
+        };
+    }
+
+    /**
+     * Registers {@code result} for the key and returns null, or returns the result already
+     * registered by an earlier submission (which may still be in progress).
+     */
+    public synchronized CompletableFuture<Booking> putIfAbsent(Long userId, String key, CompletableFuture<Booking> result) {
+        long now = System.currentTimeMillis();
+        evictExpired(now);
+        String id = id(userId, key);
+        Entry existing = entries.get(id);
+        if (existing != null) {
+            return existing.result;
+        }
+        entries.put(id, new Entry(result, now));
+        return null;
+    }
+
+    // Forgets a failed submission so the same key can be retried
+    public synchronized void remove(Long userId, String key, CompletableFuture<Booking> result) {
+        String id = id(userId, key);
+        Entry existing = entries.get(id);
+        if (existing != null && existing.result == result) {
+            entries.remove(id);
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void evictExpired(long now) {
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext() && it.next().createdAt < now - ttlMillis) {
+            it.remove();
+        }
+    }
+
+    private static String id(Long userId, String key) {
+        return userId + ":" + key;
+    }
+}
@@ -0,0 +1,29 @@
+package com.hotel.service;
+
+import com.hotel.model.Hotel;
+import org.springframework.stereotype.Component;
+
+// Cheaper is better: 1 for the cheapest candidate, 0 for the dearest and for hotels without a price
+@Component
+public class PriceScorer implements HotelScorer {
+
+    @Override
+    public String name() {
+        return "price";
+    }
+
+    @Override
+    public double defaultWeight() {
+        return 0.5;
+    }
+
+    @Override
+    public double score(Hotel hotel, RankingContext context) {
+        Double price = hotel.getStartingPrice();
+        if (price == null) {
+            return 0;
+        }
+        double range = context.getMaxPrice() - context.getMinPrice();
+        return range <= 0 ? 1 : (context.getMaxPrice() - price) / range;
+    }
+}
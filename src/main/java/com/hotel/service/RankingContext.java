@@ -0,0 +1,63 @@
+package com.hotel.service;
+
+import com.hotel.model.Hotel;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * What the scorers know about one search besides the hotel itself: the text relevance of each
+ * candidate, free room counts for the stay when dates were given, and the price range of the
+ * candidates, so price can be scored relative to the alternatives.
+ */
+public class RankingContext {
+
+    private final Map<Long, Double> relevance;
+    private final double maxRelevance;
+    private final Map<Long, ? extends Number> freeRooms;
+    private final double minPrice;
+    private final double maxPrice;
+
+    // relevance and freeRooms are optional (null); prices are taken from the candidates
+    public RankingContext(Collection<Hotel> candidates, Map<Long, Double> relevance, Map<Long, ? extends Number> freeRooms) {
+        this.relevance = relevance;
+        this.maxRelevance = relevance == null ? 0 : relevance.values().stream().mapToDouble(Double::doubleValue).max().orElse(0);
+        this.freeRooms = freeRooms;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (Hotel hotel : candidates) {
+            if (hotel.getStartingPrice() != null) {
+                min = Math.min(min, hotel.getStartingPrice());
+                max = Math.max(max, hotel.getStartingPrice());
+            }
+        }
+        this.minPrice = min;
+        this.maxPrice = max;
+    }
+
+    // Text score relative to the best match; 1 for every hotel when the search had no scores
+    public double relevance(Long hotelId) {
+        if (relevance == null) {
+            return 1;
+        }
+        Double score = relevance.get(hotelId);
+        return score == null || maxRelevance <= 0 ? 0 : score / maxRelevance;
+    }
+
+    // Free rooms for the stay when known, otherwise the hotel's bookable room count
+    public Integer freeRooms(Hotel hotel) {
+        if (freeRooms != null) {
+            Number count = freeRooms.get(hotel.getId());
+            return count == null ? 0 : count.intValue();
+        }
+        return hotel.getRoomCount();
+    }
+
+    public double getMinPrice() {
+        return minPrice;
+    }
+
+    public double getMaxPrice() {
+        return maxPrice;
+    }
+}
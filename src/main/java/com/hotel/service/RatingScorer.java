@@ -0,0 +1,27 @@
+package com.hotel.service;
+
+import com.hotel.model.Hotel;
+import org.springframework.stereotype.Component;
+
+// Guest rating on its 0 to 5 scale; unrated hotels score 0
+@Component
+public class RatingScorer implements HotelScorer {
+
+    private static final double MAX_RATING = 5.0;
+
+    @Override
+    public String name() {
+        return "rating";
+    }
+
+    @Override
+    public double defaultWeight() {
+        return 1.0;
+    }
+
+    @Override
+    public double score(Hotel hotel, RankingContext context) {
+        Double rating = hotel.getRating();
+        return rating == null ? 0 : Math.max(0, Math.min(1, rating / MAX_RATING));
+    }
+}
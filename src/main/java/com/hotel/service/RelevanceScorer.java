@@ -0,0 +1,24 @@
+package com.hotel.service;
+
+import com.hotel.model.Hotel;
+import org.springframework.stereotype.Component;
+
+// BM25 text score of the hotel, relative to the best match of the search
+@Component
+public class RelevanceScorer implements HotelScorer {
+
+    @Override
+    public String name() {
+        return "relevance";
+    }
+
+    @Override
+    public double defaultWeight() {
+        return 3.0;
+    }
+
+    @Override
+    public double score(Hotel hotel, RankingContext context) {
+        return context.relevance(hotel.getId());
+    }
+}
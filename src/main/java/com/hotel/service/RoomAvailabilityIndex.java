@@ -0,0 +1,304 @@
+package com.hotel.service;
+
+import com.hotel.model.Room;
+import com.hotel.repository.BookingRepository;
+import com.hotel.repository.RoomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory occupancy index: one day-granularity bitset per room, where bit {@code d}
+ * means the night starting at {@code baseDay + d} is taken by a CONFIRMED booking.
+ * A room is free for a stay when no bit in {@code [checkIn, checkOut)} is set.
+ *
+ * The index is loaded at startup, kept current by {@link BookingService}, and periodically
+ * verified against the bookings table. Callers must use {@link #canAnswer} first and fall
+ * back to the database query when it returns false.
+ */
+@Component
+public class RoomAvailabilityIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomAvailabilityIndex.class);
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Value("${app.availability.index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.availability.index.horizon-days:730}")
+    private int horizonDays;
+
+    // Rebuilds take the write lock; lookups and incremental updates share the read lock
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+
+    private volatile Snapshot snapshot;
+
+    private static final class RoomSlot {
+        // Changes when the room is moved to another hotel
+        volatile Long hotelId;
+        volatile boolean available;
+        final BitSet nights = new BitSet();
+
+        RoomSlot(Long hotelId, boolean available) {
+            this.hotelId = hotelId;
+            this.available = available;
+        }
+    }
+
+    private static final class Snapshot {
+        final long baseDay;
+        final Map<Long, RoomSlot> rooms = new ConcurrentHashMap<>();
+        final Map<Long, Set<Long>> roomsByHotel = new ConcurrentHashMap<>();
+
+        Snapshot(long baseDay) {
+            this.baseDay = baseDay;
+        }
+
+        void putRoom(Long roomId, Long hotelId, boolean available) {
+            rooms.put(roomId, new RoomSlot(hotelId, available));
+            roomsByHotel.computeIfAbsent(hotelId, id -> ConcurrentHashMap.newKeySet()).add(roomId);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            log.info("Room availability index disabled, using database queries");
+            return;
+        }
+        rebuildLock.writeLock().lock();
+        try {
+            snapshot = buildFromDatabase();
+            log.info("Room availability index loaded for {} rooms", snapshot.rooms.size());
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Compares the live index with a fresh load of the bookings table and swaps in the
+     * fresh copy. Returns the number of rooms whose occupancy had drifted.
+     */
+    @Scheduled(initialDelayString = "${app.availability.index.verify-interval-ms:900000}",
+               fixedDelayString = "${app.availability.index.verify-interval-ms:900000}")
+    public int verifyAgainstDatabase() {
+        if (!enabled || snapshot == null) {
+            return 0;
+        }
+        rebuildLock.writeLock().lock();
+        try {
+            Snapshot current = snapshot;
+            Snapshot fresh = buildFromDatabase();
+            int mismatches = 0;
+            for (Map.Entry<Long, RoomSlot> entry : fresh.rooms.entrySet()) {
+                RoomSlot live = current.rooms.get(entry.getKey());
+                if (live == null || live.available != entry.getValue().available
+                        || !sameNights(live, current.baseDay, entry.getValue(), fresh.baseDay)) {
+                    mismatches++;
+                }
+            }
+            for (Long roomId : current.rooms.keySet()) {
+                if (!fresh.rooms.containsKey(roomId)) {
+                    mismatches++;
+                }
+            }
+            if (mismatches > 0) {
+                log.warn("Room availability index drifted for {} rooms, reloaded from database", mismatches);
+            }
+            snapshot = fresh;
+            return mismatches;
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * True when the index is loaded and the stay lies within the indexed window.
+     */
+    public boolean canAnswer(LocalDate checkIn, LocalDate checkOut) {
+        Snapshot s = snapshot;
+        if (!enabled || s == null || checkIn == null || checkOut == null || !checkOut.isAfter(checkIn)) {
+            return false;
+        }
+        return checkIn.toEpochDay() >= s.baseDay && checkOut.toEpochDay() <= s.baseDay + horizonDays;
+    }
+
+    public List<Long> findAvailableRoomIds(Long hotelId, LocalDate checkIn, LocalDate checkOut) {
+        rebuildLock.readLock().lock();
+        try {
+            Snapshot s = snapshot;
+            Set<Long> roomIds = s.roomsByHotel.getOrDefault(hotelId, Set.of());
+            int from = (int) (checkIn.toEpochDay() - s.baseDay);
+            int to = (int) (checkOut.toEpochDay() - s.baseDay);
+            List<Long> free = new ArrayList<>();
+            for (Long roomId : roomIds) {
+                RoomSlot slot = s.rooms.get(roomId);
+                if (slot != null && slot.available && isFree(slot, from, to)) {
+                    free.add(roomId);
+                }
+            }
+            return free;
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    public boolean isRoomAvailable(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        rebuildLock.readLock().lock();
+        try {
+            Snapshot s = snapshot;
+            RoomSlot slot = s.rooms.get(roomId);
+            if (slot == null || !slot.available) {
+                return false;
+            }
+            return isFree(slot, (int) (checkIn.toEpochDay() - s.baseDay), (int) (checkOut.toEpochDay() - s.baseDay));
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    public void markBooked(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        update(roomId, checkIn, checkOut, true);
+    }
+
+    public void release(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        update(roomId, checkIn, checkOut, false);
+    }
+
+    public void registerRoom(Room room) {
+        if (snapshot == null || room.getId() == null || room.getHotel() == null) {
+            return;
+        }
+        rebuildLock.readLock().lock();
+        try {
+            Snapshot s = snapshot;
+            RoomSlot slot = s.rooms.get(room.getId());
+            Long hotelId = room.getHotel().getId();
+            if (slot == null) {
+                s.putRoom(room.getId(), hotelId, Boolean.TRUE.equals(room.getAvailable()));
+                return;
+            }
+            synchronized (slot) {
+                if (!hotelId.equals(slot.hotelId)) {
+                    // Moved: list it under the new hotel, keeping its booked nights
+                    s.roomsByHotel.computeIfAbsent(hotelId, id -> ConcurrentHashMap.newKeySet()).add(room.getId());
+                    Set<Long> oldRooms = s.roomsByHotel.get(slot.hotelId);
+                    if (oldRooms != null) {
+                        oldRooms.remove(room.getId());
+                    }
+                    slot.hotelId = hotelId;
+                }
+            }
+            slot.available = Boolean.TRUE.equals(room.getAvailable());
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    public void removeRoom(Long roomId) {
+        if (snapshot == null) {
+            return;
+        }
+        rebuildLock.readLock().lock();
+        try {
+            RoomSlot slot = snapshot.rooms.remove(roomId);
+            if (slot != null) {
+                Set<Long> hotelRooms = snapshot.roomsByHotel.get(slot.hotelId);
+                if (hotelRooms != null) {
+                    hotelRooms.remove(roomId);
+                }
+            }
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    private void update(Long roomId, LocalDate checkIn, LocalDate checkOut, boolean booked) {
+        if (snapshot == null) {
+            return;
+        }
+        rebuildLock.readLock().lock();
+        try {
+            Snapshot s = snapshot;
+            RoomSlot slot = s.rooms.get(roomId);
+            if (slot == null) {
+                return;
+            }
+            int from = (int) Math.max(0, checkIn.toEpochDay() - s.baseDay);
+            int to = (int) Math.min(horizonDays, checkOut.toEpochDay() - s.baseDay);
+            if (from >= to) {
+                return;
+            }
+            synchronized (slot.nights) {
+                slot.nights.set(from, to, booked);
+            }
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    private Snapshot buildFromDatabase() {
+        long baseDay = LocalDate.now().toEpochDay() - 1;
+        Snapshot s = new Snapshot(baseDay);
+        for (Object[] row : roomRepository.findAllAvailabilityRows()) {
+            s.putRoom((Long) row[0], (Long) row[1], Boolean.TRUE.equals(row[2]));
+        }
+        for (Object[] row : bookingRepository.findConfirmedStaysEndingAfter(LocalDate.ofEpochDay(baseDay))) {
+            RoomSlot slot = s.rooms.get((Long) row[0]);
+            if (slot == null) {
+                continue;
+            }
+            int from = (int) Math.max(0, ((LocalDate) row[1]).toEpochDay() - baseDay);
+            int to = (int) Math.min(horizonDays, ((LocalDate) row[2]).toEpochDay() - baseDay);
+            if (from < to) {
+                slot.nights.set(from, to);
+            }
+        }
+        return s;
+    }
+
+    private static boolean isFree(RoomSlot slot, int from, int to) {
+        synchronized (slot.nights) {
+            int next = slot.nights.nextSetBit(from);
+            return next < 0 || next >= to;
+        }
+    }
+
+    private boolean sameNights(RoomSlot a, long baseA, RoomSlot b, long baseB) {
+        // Compare only the overlapping window, since the base day moves between loads
+        long start = Math.max(baseA, baseB);
+        long end = Math.min(baseA, baseB) + horizonDays;
+        synchronized (a.nights) {
+            for (long day = start; day < end; day++) {
+                if (a.nights.get((int) (day - baseA)) != b.nights.get((int) (day - baseB))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
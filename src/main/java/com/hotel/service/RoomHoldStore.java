@@ -0,0 +1,158 @@
+package com.hotel.service;
+
+import com.hotel.dto.RoomHold;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory room holds. Each user holds at most one room at a time; placing a new hold drops
+ * the previous one. Expiry is driven by a {@link HashedTimerWheel}, so releasing expired holds
+ * costs one slot visit per tick instead of a scan over all holds.
+ */
+@Component
+public class RoomHoldStore {
+
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final HashedTimerWheel<RoomHold> wheel;
+
+    private final Map<Long, List<RoomHold>> holdsByRoom = new HashMap<>();
+    private final Map<Long, RoomHold> holdsByUser = new HashMap<>();
+    private final Map<RoomHold, HashedTimerWheel.Timeout<RoomHold>> timeouts = new HashMap<>();
+
+    public RoomHoldStore(@Value("${app.booking.hold.enabled:true}") boolean enabled,
+                         @Value("${app.booking.hold.ttl-ms:600000}") long ttlMillis,
+                         @Value("${app.booking.hold.tick-ms:1000}") long tickMillis,
+                         @Value("${app.booking.hold.wheel-slots:512}") int wheelSlots) {
+        this.enabled = enabled;
+        this.ttlMillis = ttlMillis;
+        this.wheel = new HashedTimerWheel<>(wheelSlots, tickMillis);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Holds the room for the user, replacing the user's previous hold. Returns null when another
+     * user already holds the room for overlapping nights.
+     */
+    public synchronized RoomHold place(Long userId, Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        if (!enabled) {
+            return null;
+        }
+        if (isHeldByOther(roomId, checkIn, checkOut, userId)) {
+            return null;
+        }
+        RoomHold previous = holdsByUser.get(userId);
+        if (previous != null) {
+            remove(previous);
+        }
+        RoomHold hold = new RoomHold(userId, roomId, checkIn, checkOut,
+                                     LocalDateTime.now().plusNanos(ttlMillis * 1_000_000));
+        holdsByRoom.computeIfAbsent(roomId, id -> new ArrayList<>()).add(hold);
+        holdsByUser.put(userId, hold);
+        timeouts.put(hold, wheel.schedule(hold, ttlMillis));
+        return hold;
+    }
+
+    public synchronized boolean isHeldByOther(Long roomId, LocalDate checkIn, LocalDate checkOut, Long userId) {
+        List<RoomHold> holds = holdsByRoom.get(roomId);
+        if (holds == null) {
+            return false;
+        }
+        for (RoomHold hold : holds) {
+            if (!hold.getUserId().equals(userId) && hold.overlaps(checkIn, checkOut)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Rooms among roomIds held for overlapping nights by anyone other than userId (null: by anyone)
+    public synchronized Set<Long> findHeldRoomIds(Collection<Long> roomIds, LocalDate checkIn, LocalDate checkOut, Long userId) {
+        Set<Long> held = new HashSet<>();
+        if (holdsByRoom.isEmpty()) {
+            return held;
+        }
+        for (Long roomId : roomIds) {
+            if (isHeldByOther(roomId, checkIn, checkOut, userId)) {
+                held.add(roomId);
+            }
+        }
+        return held;
+    }
+
+    // Rooms held for overlapping nights by anyone other than userId (null: by anyone)
+    public synchronized Set<Long> findHeldRoomIds(LocalDate checkIn, LocalDate checkOut, Long userId) {
+        return findHeldRoomIds(new ArrayList<>(holdsByRoom.keySet()), checkIn, checkOut, userId);
+    }
+
+    // Holds on the rooms by anyone other than userId, as [checkIn, checkOut] rows like booked stays
+    public synchronized List<Object[]> findHeldStays(Collection<Long> roomIds, LocalDate from, LocalDate to, Long userId) {
+        List<Object[]> stays = new ArrayList<>();
+        for (Long roomId : roomIds) {
+            for (RoomHold hold : holdsByRoom.getOrDefault(roomId, List.of())) {
+                if (!hold.getUserId().equals(userId) && hold.overlaps(from, to)) {
+                    stays.add(new Object[]{hold.getCheckInDate(), hold.getCheckOutDate()});
+                }
+            }
+        }
+        return stays;
+    }
+
+    // The user's current hold, if any
+    public synchronized RoomHold findHold(Long userId) {
+        return holdsByUser.get(userId);
+    }
+
+    // Drops the user's hold on the room, typically once the booking has been committed
+    public synchronized void release(Long userId, Long roomId) {
+        RoomHold hold = holdsByUser.get(userId);
+        if (hold != null && hold.getRoomId().equals(roomId)) {
+            remove(hold);
+        }
+    }
+
+    public synchronized int size() {
+        return holdsByUser.size();
+    }
+
+    @Scheduled(fixedRateString = "${app.booking.hold.tick-ms:1000}")
+    public void tick() {
+        wheel.tick(this::expire);
+    }
+
+    private synchronized void expire(RoomHold hold) {
+        // Only the timeout of a hold that is still current removes it
+        if (timeouts.containsKey(hold)) {
+            remove(hold);
+        }
+    }
+
+    private void remove(RoomHold hold) {
+        HashedTimerWheel.Timeout<RoomHold> timeout = timeouts.remove(hold);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+        holdsByUser.remove(hold.getUserId(), hold);
+        List<RoomHold> holds = holdsByRoom.get(hold.getRoomId());
+        if (holds != null) {
+            holds.remove(hold);
+            if (holds.isEmpty()) {
+                holdsByRoom.remove(hold.getRoomId());
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.hotel.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed pool of locks shared by all rooms. Booking attempts for the same room always map
+ * to the same stripe and are serialized; attempts for different rooms rarely collide.
+ */
+@Component
+public class RoomLockStripes {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    public RoomLockStripes(@Value("${app.booking.lock-stripes:64}") int stripeCount) {
+        // Round up to a power of two so the stripe can be picked with a mask
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    public Lock lockFor(Long roomId) {
+        return stripes[indexOf(roomId)];
+    }
+
+    /**
+     * Locks for several rooms, de-duplicated and in stripe order so that callers acquiring
+     * them one after another cannot deadlock with each other.
+     */
+    public List<Lock> locksFor(Collection<Long> roomIds) {
+        TreeSet<Integer> indexes = new TreeSet<>();
+        for (Long roomId : roomIds) {
+            indexes.add(indexOf(roomId));
+        }
+        List<Lock> locks = new ArrayList<>(indexes.size());
+        for (Integer index : indexes) {
+            locks.add(stripes[index]);
+        }
+        return locks;
+    }
+
+    public int size() {
+        return stripes.length;
+    }
+
+    private int indexOf(Long roomId) {
+        int h = roomId.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
@@ -1,13 +1,23 @@
 package com.hotel.service;
 
 import com.hotel.model.Room;
+import com.hotel.repository.HotelRepository;
 import com.hotel.repository.RoomRepository;
+import com.hotel.repository.RoomSpecifications;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
 @Service
 public class RoomService {
@@ -15,59 +25,151 @@ public class RoomService {
     @Autowired
     private RoomRepository roomRepository;
 
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private RoomAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private RoomTypeInventory roomTypeInventory;
+
+    @Autowired
+    private RoomHoldStore roomHolds;
+
+    @Autowired
+    private HotelCatalog hotelCatalog;
+
+    @Autowired
+    private AmenityDictionary amenityDictionary;
+
     public List<Room> getAvailableRoomsByHotelAndDates(Long hotelId, LocalDate checkIn, LocalDate checkOut) {
-        if (checkIn != null && checkOut != null) {
-            return roomRepository.findAvailableRoomsByHotelAndDates(hotelId, checkIn, checkOut);
+        if (availabilityIndex.canAnswer(checkIn, checkOut)) {
+            // Answered from the in-memory bitsets; only the free rooms are loaded, by primary key
+            List<Long> roomIds = new ArrayList<>(availabilityIndex.findAvailableRoomIds(hotelId, checkIn, checkOut));
+            roomIds.removeAll(roomHolds.findHeldRoomIds(roomIds, checkIn, checkOut, null));
+            return roomIds.isEmpty() ? List.of() : roomRepository.findAllById(roomIds);
+        } else if (checkIn != null && checkOut != null) {
+            List<Room> rooms = roomRepository.findAvailableRoomsByHotelAndDates(hotelId, checkIn, checkOut);
+            Set<Long> held = roomHolds.findHeldRoomIds(rooms.stream().map(Room::getId).toList(), checkIn, checkOut, null);
+            return held.isEmpty() ? rooms : rooms.stream().filter(room -> !held.contains(room.getId())).toList();
         } else {
             return roomRepository.findByHotelIdAndAvailableTrue(hotelId);
         }
     }
 
+    // How many rooms of each type are free on every night of the stay
+    public Map<String, Integer> getAvailableCountsByType(Long hotelId, LocalDate checkIn, LocalDate checkOut) {
+        if (roomTypeInventory.canAnswer(checkIn, checkOut)) {
+            Map<String, Integer> counts = roomTypeInventory.availableCountsByType(hotelId, checkIn, checkOut);
+            // The counters only know bookings; a held room is free there but not to other guests
+            Set<Long> held = roomHolds.findHeldRoomIds(checkIn, checkOut, null);
+            if (!held.isEmpty()) {
+                for (Room room : roomRepository.findAllById(held)) {
+                    if (room.getHotel().getId().equals(hotelId) && Boolean.TRUE.equals(room.getAvailable())) {
+                        counts.computeIfPresent(room.getType().toUpperCase(Locale.ROOT),
+                                                (type, count) -> Math.max(0, count - 1));
+                    }
+                }
+            }
+            return counts;
+        }
+        Map<String, Integer> counts = new TreeMap<>();
+        for (Room room : getAvailableRoomsByHotelAndDates(hotelId, checkIn, checkOut)) {
+            counts.merge(room.getType().toUpperCase(Locale.ROOT), 1, Integer::sum);
+        }
+        return counts;
+    }
+
     public Room getRoomById(Long id) {
         return roomRepository.findById(id).orElse(null);
     }
 
     public List<Room> getFilteredRooms(Long hotelId, String checkIn, String checkOut, 
                                       String roomType, Double maxPrice) {
-        List<Room> rooms;
-        
-        // Handle date-based availability
+        return getFilteredRooms(hotelId, checkIn, checkOut, roomType, maxPrice, null);
+    }
+
+    /**
+     * Bookable rooms of the hotel matching the filters, filtered in one query: type, price
+     * ceiling and capacity are predicates, and the stay dates become a NOT EXISTS on
+     * overlapping confirmed bookings (or an id list when the availability index can answer).
+     * Unparseable dates are ignored, as before.
+     */
+    public List<Room> getFilteredRooms(Long hotelId, String checkIn, String checkOut,
+                                       String roomType, Double maxPrice, Integer guests) {
+        Specification<Room> spec = RoomSpecifications.availableIn(
+            hotelId,
+            roomType == null || roomType.isEmpty() ? null : roomType,
+            maxPrice == null ? null : BigDecimal.valueOf(maxPrice),
+            guests);
+
+        LocalDate checkInDate = null;
+        LocalDate checkOutDate = null;
         if (checkIn != null && checkOut != null && !checkIn.isEmpty() && !checkOut.isEmpty()) {
             try {
-                LocalDate checkInDate = LocalDate.parse(checkIn);
-                LocalDate checkOutDate = LocalDate.parse(checkOut);
-                rooms = getAvailableRoomsByHotelAndDates(hotelId, checkInDate, checkOutDate);
-            } catch (Exception e) {
+                checkInDate = LocalDate.parse(checkIn);
+                checkOutDate = LocalDate.parse(checkOut);
+            } catch (DateTimeParseException e) {
                 // If date parsing fails, fall back to all available rooms
-                rooms = roomRepository.findByHotelIdAndAvailableTrue(hotelId);
+                checkInDate = null;
+                checkOutDate = null;
             }
-        } else {
-            // No dates provided, show all available rooms
-            rooms = roomRepository.findByHotelIdAndAvailableTrue(hotelId);
         }
-        
-        // Apply additional filters
-        if (roomType != null && !roomType.isEmpty()) {
-            rooms = rooms.stream()
-                .filter(room -> room.getType().equalsIgnoreCase(roomType))
-                .toList();
+        if (checkInDate == null) {
+            return roomRepository.findAll(spec);
         }
-        
-        if (maxPrice != null) {
-            rooms = rooms.stream()
-                .filter(room -> room.getPrice().doubleValue() <= maxPrice)
-                .toList();
+
+        if (availabilityIndex.canAnswer(checkInDate, checkOutDate)) {
+            List<Long> freeIds = availabilityIndex.findAvailableRoomIds(hotelId, checkInDate, checkOutDate);
+            if (freeIds.isEmpty()) {
+                return List.of();
+            }
+            spec = spec.and(RoomSpecifications.idIn(freeIds));
+        } else {
+            spec = spec.and(RoomSpecifications.freeBetween(checkInDate, checkOutDate));
         }
-        
-        return rooms;
+        List<Room> rooms = roomRepository.findAll(spec);
+        Set<Long> held = roomHolds.findHeldRoomIds(rooms.stream().map(Room::getId).toList(), checkInDate, checkOutDate, null);
+        return held.isEmpty() ? rooms : rooms.stream().filter(room -> !held.contains(room.getId())).toList();
+    }
+
+    // Rooms offering all of the given amenities (bitmask AND per room)
+    public List<Room> filterByAmenities(List<Room> rooms, Collection<String> amenities) {
+        return amenityDictionary.filterAll(rooms, Room::getAmenities, Room::getAmenityList, amenities);
     }
 
     public Room saveRoom(Room room) {
-        return roomRepository.save(room);
+        // State before the edit, to move the room off its old hotel and type
+        Room before = room.getId() == null ? null : roomRepository.findById(room.getId()).orElse(null);
+        Room saved = roomTypeInventory.withoutReload(() -> {
+            Room result = roomRepository.save(room);
+            roomTypeInventory.moveRoom(result.getId(), before, result);
+            return result;
+        });
+        Long hotelId = saved.getHotel().getId();
+        hotelRepository.recomputeRoomSummary(hotelId);
+        if (before != null && !before.getHotel().getId().equals(hotelId)) {
+            // Moved to another hotel: the old one lost a room
+            hotelRepository.recomputeRoomSummary(before.getHotel().getId());
+        }
+        availabilityIndex.registerRoom(saved);
+        hotelCatalog.markDirty();
+        return saved;
     }
 
     public void deleteRoom(Long id) {
-        roomRepository.deleteById(id);
+        Room before = roomRepository.findById(id).orElse(null);
+        roomTypeInventory.withoutReload(() -> {
+            roomRepository.deleteById(id);
+            roomTypeInventory.moveRoom(id, before, null);
+            return null;
+        });
+        if (before != null) {
+            hotelRepository.recomputeRoomSummary(before.getHotel().getId());
+        }
+        availabilityIndex.removeRoom(id);
+        hotelCatalog.markDirty();
     }
 
     public List<Room> getAllRooms() {
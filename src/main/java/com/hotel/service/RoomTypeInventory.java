@@ -0,0 +1,282 @@
+package com.hotel.service;
+
+import com.hotel.model.Room;
+import com.hotel.repository.BookingRepository;
+import com.hotel.repository.RoomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Per-hotel, per-room-type, per-night allotment counters. Each counter holds how many rooms
+ * of that type are still free for the night; a stay is sellable when the minimum over its
+ * nights is positive, and {@link #tryReserve} claims one room atomically across all nights.
+ *
+ * Counters follow bookings and cancellations made through {@link BookingService} and room
+ * edits made through {@link RoomService}, and are reloaded from the database periodically.
+ * A change to the database and the counter update that goes with it run inside
+ * {@link #withoutReload}, so a reload never sees the one without the other.
+ */
+@Component
+public class RoomTypeInventory {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomTypeInventory.class);
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Value("${app.inventory.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.inventory.horizon-days:365}")
+    private int horizonDays;
+
+    private final ReadWriteLock reloadLock = new ReentrantReadWriteLock();
+
+    private volatile long baseDay;
+    private volatile Map<String, AtomicIntegerArray> allotments;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.inventory.reload-interval-ms:900000}",
+               fixedDelayString = "${app.inventory.reload-interval-ms:900000}")
+    public void reload() {
+        if (!enabled) {
+            return;
+        }
+        reloadLock.writeLock().lock();
+        try {
+            long base = LocalDate.now().toEpochDay() - 1;
+            Map<String, AtomicIntegerArray> fresh = new ConcurrentHashMap<>();
+            for (Object[] row : roomRepository.countAvailableRoomsByHotelAndType()) {
+                AtomicIntegerArray nights = new AtomicIntegerArray(horizonDays);
+                int total = ((Long) row[2]).intValue();
+                for (int day = 0; day < horizonDays; day++) {
+                    nights.set(day, total);
+                }
+                fresh.put(key((Long) row[0], (String) row[1]), nights);
+            }
+            for (Object[] row : bookingRepository.findConfirmedTypeStaysEndingAfter(LocalDate.ofEpochDay(base))) {
+                AtomicIntegerArray nights = fresh.get(key((Long) row[0], (String) row[1]));
+                if (nights != null) {
+                    int from = (int) Math.max(0, ((LocalDate) row[2]).toEpochDay() - base);
+                    int to = (int) Math.min(horizonDays, ((LocalDate) row[3]).toEpochDay() - base);
+                    for (int day = from; day < to; day++) {
+                        nights.decrementAndGet(day);
+                    }
+                }
+            }
+            baseDay = base;
+            allotments = fresh;
+            log.debug("Room type inventory loaded for {} hotel/type pairs", fresh.size());
+        } finally {
+            reloadLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Runs a booking or room change together with its counter updates so that no reload starts
+     * in between: a reload either reads the committed change from the database or runs after
+     * the counters were updated. Take it before any room stripe lock; the counter methods
+     * called inside re-enter it.
+     */
+    public <T> T withoutReload(Supplier<T> change) {
+        reloadLock.readLock().lock();
+        try {
+            return change.get();
+        } finally {
+            reloadLock.readLock().unlock();
+        }
+    }
+
+    public boolean canAnswer(LocalDate checkIn, LocalDate checkOut) {
+        return enabled && allotments != null && checkIn != null && checkOut != null
+            && checkOut.isAfter(checkIn)
+            && checkIn.toEpochDay() >= baseDay && checkOut.toEpochDay() <= baseDay + horizonDays;
+    }
+
+    /**
+     * Rooms of the type still free on every night of the stay (range minimum over the counters).
+     */
+    public int availableCount(Long hotelId, String type, LocalDate checkIn, LocalDate checkOut) {
+        reloadLock.readLock().lock();
+        try {
+            AtomicIntegerArray nights = allotments.get(key(hotelId, type));
+            if (nights == null) {
+                return 0;
+            }
+            int min = Integer.MAX_VALUE;
+            for (int day = offset(checkIn); day < offset(checkOut); day++) {
+                min = Math.min(min, nights.get(day));
+            }
+            return Math.max(0, min);
+        } finally {
+            reloadLock.readLock().unlock();
+        }
+    }
+
+    public Map<String, Integer> availableCountsByType(Long hotelId, LocalDate checkIn, LocalDate checkOut) {
+        Map<String, Integer> counts = new TreeMap<>();
+        String prefix = hotelId + ":";
+        Map<String, AtomicIntegerArray> current = allotments;
+        if (current == null) {
+            return counts;
+        }
+        for (String key : current.keySet()) {
+            if (key.startsWith(prefix)) {
+                String type = key.substring(prefix.length());
+                counts.put(type, availableCount(hotelId, type, checkIn, checkOut));
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Atomically takes one room of the type for every night of the stay, or nothing if any
+     * night is sold out. Callers check {@link #canAnswer} first; outside the covered window
+     * this returns true without reserving, leaving the decision to the database checks.
+     */
+    public boolean tryReserve(Long hotelId, String type, LocalDate checkIn, LocalDate checkOut) {
+        if (!canAnswer(checkIn, checkOut)) {
+            return true;
+        }
+        reloadLock.readLock().lock();
+        try {
+            AtomicIntegerArray nights = allotments.get(key(hotelId, type));
+            if (nights == null) {
+                return true;
+            }
+            int from = offset(checkIn);
+            int to = offset(checkOut);
+            for (int day = from; day < to; day++) {
+                if (!decrementIfPositive(nights, day)) {
+                    // Roll back the nights already claimed
+                    for (int claimed = from; claimed < day; claimed++) {
+                        nights.incrementAndGet(claimed);
+                    }
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            reloadLock.readLock().unlock();
+        }
+    }
+
+    // Records a stay the database has already confirmed
+    public void reserve(Long hotelId, String type, LocalDate checkIn, LocalDate checkOut) {
+        adjust(hotelId, type, checkIn, checkOut, -1);
+    }
+
+    public void release(Long hotelId, String type, LocalDate checkIn, LocalDate checkOut) {
+        adjust(hotelId, type, checkIn, checkOut, 1);
+    }
+
+    /**
+     * Moves one saved or deleted room between counters: it stops counting for its previous
+     * hotel and type, together with its confirmed stays, and starts counting for its current
+     * ones. Either side is null, or not available, when the room does not count there.
+     */
+    public void moveRoom(Long roomId, Room before, Room after) {
+        String from = countedKey(before);
+        String to = countedKey(after);
+        if (allotments == null || Objects.equals(from, to)) {
+            return;
+        }
+        reloadLock.readLock().lock();
+        try {
+            LocalDate firstNight = LocalDate.ofEpochDay(baseDay);
+            List<Object[]> stays = bookingRepository.findConfirmedStaysForRoom(roomId, firstNight,
+                                                                               firstNight.plusDays(horizonDays));
+            if (from != null) {
+                shiftRoom(allotments.get(from), stays, -1);
+            }
+            if (to != null) {
+                shiftRoom(allotments.computeIfAbsent(to, key -> new AtomicIntegerArray(horizonDays)), stays, 1);
+            }
+        } finally {
+            reloadLock.readLock().unlock();
+        }
+    }
+
+    // Adds (1) or removes (-1) one room on every night, minus the nights its stays occupy
+    private void shiftRoom(AtomicIntegerArray nights, List<Object[]> stays, int delta) {
+        if (nights == null) {
+            return;
+        }
+        for (int day = 0; day < horizonDays; day++) {
+            nights.addAndGet(day, delta);
+        }
+        for (Object[] stay : stays) {
+            int from = Math.max(0, offset((LocalDate) stay[0]));
+            int to = Math.min(horizonDays, offset((LocalDate) stay[1]));
+            for (int day = from; day < to; day++) {
+                nights.addAndGet(day, -delta);
+            }
+        }
+    }
+
+    private static String countedKey(Room room) {
+        return room == null || room.getHotel() == null || !Boolean.TRUE.equals(room.getAvailable())
+            ? null : key(room.getHotel().getId(), room.getType());
+    }
+
+    private void adjust(Long hotelId, String type, LocalDate checkIn, LocalDate checkOut, int delta) {
+        if (allotments == null || checkIn == null || checkOut == null) {
+            return;
+        }
+        reloadLock.readLock().lock();
+        try {
+            AtomicIntegerArray nights = allotments.get(key(hotelId, type));
+            if (nights == null) {
+                return;
+            }
+            int from = Math.max(0, offset(checkIn));
+            int to = Math.min(horizonDays, offset(checkOut));
+            for (int day = from; day < to; day++) {
+                nights.addAndGet(day, delta);
+            }
+        } finally {
+            reloadLock.readLock().unlock();
+        }
+    }
+
+    private static boolean decrementIfPositive(AtomicIntegerArray nights, int day) {
+        while (true) {
+            int current = nights.get(day);
+            if (current <= 0) {
+                return false;
+            }
+            if (nights.compareAndSet(day, current, current - 1)) {
+                return true;
+            }
+        }
+    }
+
+    private int offset(LocalDate date) {
+        return (int) (date.toEpochDay() - baseDay);
+    }
+
+    private static String key(Long hotelId, String type) {
+        return hotelId + ":" + type.toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,45 @@
+package com.hotel.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * The k best of a stream of items under an order, kept in a bounded heap whose head is the
+ * worst item retained. Offering n items costs O(n log k) and O(k) memory, instead of sorting
+ * all n to read the first page. Not thread-safe.
+ */
+public class TopK<T> {
+
+    private final int k;
+    private final Comparator<? super T> order;
+    private final PriorityQueue<T> heap;
+
+    // order puts better items first
+    public TopK(int k, Comparator<? super T> order) {
+        this.k = Math.max(0, k);
+        this.order = order;
+        this.heap = new PriorityQueue<>(Math.max(1, Math.min(this.k, 1024)), order.reversed());
+    }
+
+    public void offer(T item) {
+        if (heap.size() < k) {
+            heap.add(item);
+        } else if (k > 0 && order.compare(item, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(item);
+        }
+    }
+
+    public int size() {
+        return heap.size();
+    }
+
+    // The retained items, best first
+    public List<T> toList() {
+        List<T> best = new ArrayList<>(heap);
+        best.sort(order);
+        return best;
+    }
+}
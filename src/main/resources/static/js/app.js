@@ -16,6 +16,8 @@ class HotelBookingApp {
         const searchInput = document.getElementById('searchInput');
         if (searchInput) {
             searchInput.addEventListener('input', this.debounce(this.handleSearch.bind(this), 300));
+            searchInput.addEventListener('input', this.debounce(this.fetchSuggestions.bind(this), 150));
+            searchInput.addEventListener('blur', () => setTimeout(() => this.renderSuggestions([]), 200));
         }
 
         // Hotel card interactions
@@ -86,6 +88,53 @@ class HotelBookingApp {
         this.updateResultsCount();
     }
 
+    fetchSuggestions(event) {
+        const input = event.target;
+        const prefix = input.value.trim();
+        if (prefix.length < 2) {
+            this.renderSuggestions([]);
+            return;
+        }
+        fetch(`/api/suggest?q=${encodeURIComponent(prefix)}`)
+            .then(response => response.ok ? response.json() : [])
+            .then(suggestions => {
+                // Ignore answers for a prefix the user has already typed past
+                if (input.value.trim() === prefix) {
+                    this.renderSuggestions(suggestions, input);
+                }
+            })
+            .catch(() => this.renderSuggestions([]));
+    }
+
+    renderSuggestions(suggestions, input) {
+        let list = document.getElementById('searchSuggestions');
+        if (!suggestions.length) {
+            if (list) {
+                list.remove();
+            }
+            return;
+        }
+        if (!list) {
+            list = document.createElement('div');
+            list.id = 'searchSuggestions';
+            list.className = 'list-group search-suggestions';
+            input.parentNode.appendChild(list);
+        }
+        list.innerHTML = '';
+        suggestions.forEach(suggestion => {
+            const item = document.createElement('a');
+            item.className = 'list-group-item list-group-item-action';
+            item.href = suggestion.type === 'city'
+                ? `/hotels?location=${encodeURIComponent(suggestion.text)}`
+                : `/hotels/${suggestion.hotelId}/rooms`;
+            const icon = document.createElement('i');
+            icon.className = suggestion.type === 'city' ? 'fas fa-map-marker-alt me-2' : 'fas fa-hotel me-2';
+            item.appendChild(icon);
+            item.appendChild(document.createTextNode(suggestion.text));
+            list.appendChild(item);
+        });
+    }
+
     updateResultsCount() {
         const visibleCards = document.querySelectorAll('.hotel-card[style=""]').length + 
                            document.querySelectorAll('.hotel-card:not([style])').length;
@@ -1,8 +1,11 @@
 package com.hotel.controller;
 
+import com.hotel.dto.HotelPage;
+import com.hotel.dto.HotelSearchCriteria;
 import com.hotel.model.Hotel;
 import com.hotel.service.HotelService;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -28,7 +31,7 @@ public class HomeControllerTest {
     @Test
     void home_ShouldReturnHomePage() throws Exception {
         // Mock the service method that actually exists in your HotelService
-        when(hotelService.getAllHotels()).thenReturn(Collections.emptyList());
+        when(hotelService.searchHotels(Mockito.any(HotelSearchCriteria.class), isNull(), isNull())).thenReturn(new HotelPage(Collections.emptyList(), null));
         
         mockMvc.perform(get("/"))
                .andExpect(status().isOk())
@@ -47,7 +50,7 @@ public class HomeControllerTest {
         hotel2.setLocation("Test Location 2");
         
         // Mock the actual method name in your service
-        when(hotelService.getAllHotels()).thenReturn(Arrays.asList(hotel1, hotel2));
+        when(hotelService.searchHotels(Mockito.any(HotelSearchCriteria.class), isNull(), isNull())).thenReturn(new HotelPage(Arrays.asList(hotel1, hotel2), null));
         
         mockMvc.perform(get("/"))
                .andExpect(status().isOk())
@@ -57,7 +60,7 @@ public class HomeControllerTest {
     @Test
     void home_ShouldHandleEmptyHotelList() throws Exception {
         // Mock the actual method name in your service
-        when(hotelService.getAllHotels()).thenReturn(Collections.emptyList());
+        when(hotelService.searchHotels(Mockito.any(HotelSearchCriteria.class), isNull(), isNull())).thenReturn(new HotelPage(Collections.emptyList(), null));
         
         mockMvc.perform(get("/"))
                .andExpect(status().isOk())
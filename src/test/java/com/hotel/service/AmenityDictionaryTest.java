@@ -0,0 +1,46 @@
+package com.hotel.service;
+
+import com.hotel.model.Room;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AmenityDictionaryTest {
+
+    private final AmenityDictionary dictionary = new AmenityDictionary();
+
+    @Test
+    void testFilterKeepsRoomsWithAllRequestedAmenities() {
+        Room suite = room("Air Conditioning, Minibar,Balcony");
+        Room standard = room("Air Conditioning,TV");
+        List<Room> rooms = List.of(suite, standard);
+
+        assertThat(filter(rooms, List.of("air conditioning"))).containsExactly(suite, standard);
+        assertThat(filter(rooms, List.of("Minibar", "BALCONY"))).containsExactly(suite);
+        assertThat(filter(rooms, List.of("Sauna"))).isEmpty();
+        assertThat(filter(rooms, List.of())).containsExactly(suite, standard);
+    }
+
+    @Test
+    void testMasksGrowBeyondSixtyFourAmenities() {
+        List<String> many = IntStream.range(0, 100).mapToObj(i -> "Amenity " + i).collect(Collectors.toList());
+        Room everything = room(String.join(",", many));
+        Room few = room("Amenity 1,Amenity 99");
+
+        assertThat(filter(List.of(everything, few), List.of("Amenity 99", "Amenity 70"))).containsExactly(everything);
+    }
+
+    private List<Room> filter(List<Room> rooms, List<String> amenities) {
+        return dictionary.filterAll(rooms, Room::getAmenities, Room::getAmenityList, amenities);
+    }
+
+    private static Room room(String amenities) {
+        Room room = new Room();
+        room.setAmenities(amenities);
+        return room;
+    }
+}
@@ -1,5 +1,8 @@
 package com.hotel.service;
 
+import com.hotel.dto.HotelAvailabilityPage;
+import com.hotel.dto.HotelAvailabilitySummary;
+import com.hotel.dto.HotelSearchCriteria;
 import com.hotel.model.Hotel;
 import com.hotel.repository.HotelRepository;
 import org.junit.jupiter.api.Test;
@@ -7,7 +10,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -53,4 +59,37 @@ public class BasicHotelServiceTest {
             assertThat(hotelRepository.findAll()).isNotNull();
         }
     }
+
+    @Test
+    void testAvailabilityResultsArePagedInRatingOrder() {
+        ReflectionTestUtils.setField(hotelService, "defaultPageSize", 12);
+        ReflectionTestUtils.setField(hotelService, "maxPageSize", 48);
+        List<HotelAvailabilitySummary> summaries = List.of(
+            summary(1L, 4.0), summary(2L, null), summary(3L, 4.8), summary(4L, 4.0), summary(5L, 3.1));
+        HotelSearchCriteria criteria = new HotelSearchCriteria();
+        criteria.setLocation("Paris");
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            HotelAvailabilityPage page = hotelService.pageAvailableHotels(summaries, criteria, cursor, 2);
+            page.getSummaries().forEach(summary -> seen.add(summary.getHotelId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        // Best rated first, ties by id, unrated last; every hotel exactly once
+        assertThat(seen).containsExactly(3L, 1L, 4L, 5L, 2L);
+        assertThat(pages).isEqualTo(3);
+    }
+
+    private static HotelAvailabilitySummary summary(Long id, Double rating) {
+        Hotel hotel = new Hotel();
+        hotel.setId(id);
+        hotel.setRating(rating);
+        HotelAvailabilitySummary summary = new HotelAvailabilitySummary(id, 1L, BigDecimal.TEN);
+        summary.setHotel(hotel);
+        return summary;
+    }
 }
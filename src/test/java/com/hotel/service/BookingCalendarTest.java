@@ -0,0 +1,86 @@
+package com.hotel.service;
+
+import com.hotel.dto.DayAvailability;
+import com.hotel.model.Room;
+import com.hotel.repository.BookingRepository;
+import com.hotel.repository.RoomRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingCalendarTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Spy
+    private RoomHoldStore roomHolds = new RoomHoldStore(true, 600_000, 1000, 8);
+
+    @InjectMocks
+    private BookingService bookingService;
+
+    private final LocalDate from = LocalDate.of(2030, 3, 10);
+
+    @Test
+    void hotelCalendar_ShouldCountOverlappingStaysPerNight() {
+        when(roomRepository.countByHotelIdAndAvailableTrue(1L)).thenReturn(3L);
+        when(bookingRepository.findConfirmedStaysForHotel(1L, from, from.plusDays(7))).thenReturn(List.of(
+            stay(-2, 1),   // crosses the start of the window
+            stay(1, 3),
+            stay(2, 4),    // overlaps the previous stay on night 2
+            stay(4, 5),    // checks in on the day the previous stay checks out
+            stay(6, 9)));  // crosses the end of the window
+
+        List<DayAvailability> calendar = bookingService.getHotelCalendar(1L, from, 7, null);
+
+        assertThat(calendar).extracting(DayAvailability::getDate)
+            .containsExactly(from, from.plusDays(1), from.plusDays(2), from.plusDays(3),
+                             from.plusDays(4), from.plusDays(5), from.plusDays(6));
+        assertThat(calendar).extracting(DayAvailability::getFreeRooms).containsExactly(2, 2, 1, 2, 2, 3, 2);
+    }
+
+    @Test
+    void roomCalendar_ShouldFreeTheCheckOutDay() {
+        Room room = new Room("101", "STANDARD", BigDecimal.TEN, null);
+        room.setId(5L);
+        when(bookingRepository.findConfirmedStaysForRoom(5L, from, from.plusDays(4)))
+            .thenReturn(List.<Object[]>of(stay(0, 2)));
+
+        List<DayAvailability> calendar = bookingService.getRoomCalendar(room, from, 4, null);
+
+        assertThat(calendar).extracting(DayAvailability::getFreeRooms).containsExactly(0, 0, 1, 1);
+    }
+
+    @Test
+    void roomCalendar_ShouldCountAnotherGuestsHoldAsTaken() {
+        Room room = new Room("101", "STANDARD", BigDecimal.TEN, null);
+        room.setId(5L);
+        when(bookingRepository.findConfirmedStaysForRoom(5L, from, from.plusDays(4)))
+            .thenReturn(List.<Object[]>of(stay(0, 2)));
+        roomHolds.place(7L, 5L, from.plusDays(2), from.plusDays(3));
+
+        assertThat(bookingService.getRoomCalendar(room, from, 4, 9L))
+            .extracting(DayAvailability::getFreeRooms).containsExactly(0, 0, 0, 1);
+        // The guest holding the room still sees the nights as free
+        assertThat(bookingService.getRoomCalendar(room, from, 4, 7L))
+            .extracting(DayAvailability::getFreeRooms).containsExactly(0, 0, 1, 1);
+    }
+
+    private Object[] stay(int checkIn, int checkOut) {
+        return new Object[]{from.plusDays(checkIn), from.plusDays(checkOut)};
+    }
+}
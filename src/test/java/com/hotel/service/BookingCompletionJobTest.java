@@ -0,0 +1,115 @@
+package com.hotel.service;
+
+import com.hotel.model.Booking;
+import com.hotel.model.Hotel;
+import com.hotel.model.Room;
+import com.hotel.model.User;
+import com.hotel.repository.BookingRepository;
+import com.hotel.repository.HotelRepository;
+import com.hotel.repository.RoomRepository;
+import com.hotel.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Small chunks so a run spans several of them; own database so other contexts' bookings do not count
+@SpringBootTest(properties = {
+    "app.booking.completion.chunk-size=2",
+    "app.booking.completion.pause-ms=0",
+    "spring.datasource.url=jdbc:h2:mem:completiondb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"
+})
+@ActiveProfiles("test")
+public class BookingCompletionJobTest {
+
+    // Stays are seeded around a fixed "today" so the test does not depend on the clock
+    private static final LocalDate TODAY = LocalDate.of(2021, 1, 1);
+
+    @Autowired
+    private BookingCompletionJob completionJob;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final List<Booking> past = new ArrayList<>();
+    private final List<Booking> future = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository.deleteAll();
+        Hotel hotel = hotelRepository.save(new Hotel("Completion Hotel", "Completion City", "Completion fixture"));
+        Room fixture = new Room("C1", "STANDARD", new BigDecimal("80.00"), hotel);
+        fixture.setCapacity(2);
+        Room room = roomRepository.save(fixture);
+        User user = userRepository.save(new User("Completion", "Guest", "completion" + System.nanoTime() + "@test.com", "secret"));
+
+        // Five past stays (three chunks of two), interleaved by id with stays that are not over yet
+        for (int i = 0; i < 5; i++) {
+            LocalDate checkIn = TODAY.minusDays(30 - 4L * i);
+            past.add(bookingRepository.save(bookingService.buildBooking(user, room, checkIn, checkIn.plusDays(2), 1, null)));
+            LocalDate later = TODAY.plusDays(4L * i);
+            future.add(bookingRepository.save(bookingService.buildBooking(user, room, later, later.plusDays(2), 1, null)));
+        }
+        // Checking out today is not yet in the past
+        future.add(bookingRepository.save(bookingService.buildBooking(user, room, TODAY.minusDays(2), TODAY, 1, null)));
+    }
+
+    @Test
+    void completePastBookings_ShouldCompleteOnlyStaysThatHaveEnded() {
+        double rowsBefore = meterRegistry.get("booking.completion.rows").counter().count();
+        double chunksBefore = meterRegistry.get("booking.completion.chunks").counter().count();
+
+        long completed = completionJob.completePastBookings(TODAY);
+
+        assertThat(completed).isEqualTo(past.size());
+        assertThat(past).allSatisfy(booking ->
+            assertThat(bookingRepository.findById(booking.getId()).orElseThrow().getStatus()).isEqualTo("COMPLETED"));
+        assertThat(future).allSatisfy(booking ->
+            assertThat(bookingRepository.findById(booking.getId()).orElseThrow().getStatus()).isEqualTo("CONFIRMED"));
+        assertThat(meterRegistry.get("booking.completion.rows").counter().count() - rowsBefore).isEqualTo(past.size());
+        assertThat(meterRegistry.get("booking.completion.chunks").counter().count() - chunksBefore).isEqualTo(3);
+        assertThat(meterRegistry.get("booking.completion.last-run.rows").gauge().value()).isEqualTo(past.size());
+
+        // A second run finds nothing left to complete
+        assertThat(completionJob.completePastBookings(TODAY)).isZero();
+    }
+
+    @Test
+    void completePastBookings_ShouldSkipWhileAnotherRunIsInProgress() {
+        AtomicBoolean running = (AtomicBoolean) ReflectionTestUtils.getField(completionJob, "running");
+        running.set(true);
+        try {
+            assertThat(completionJob.completePastBookings(TODAY)).isEqualTo(-1);
+            assertThat(past).allSatisfy(booking ->
+                assertThat(bookingRepository.findById(booking.getId()).orElseThrow().getStatus()).isEqualTo("CONFIRMED"));
+        } finally {
+            running.set(false);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.hotel.service;
+
+import com.hotel.model.Booking;
+import com.hotel.model.Hotel;
+import com.hotel.model.Room;
+import com.hotel.model.User;
+import com.hotel.repository.BookingRepository;
+import com.hotel.repository.HotelRepository;
+import com.hotel.repository.RoomRepository;
+import com.hotel.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class BookingConcurrencyStressTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingConcurrencyStressTest.class);
+
+    // The only ways createBooking may turn down a valid request under contention
+    private static final Set<String> CONFLICT_MESSAGES = Set.of(
+        "Room is not available for the selected dates",
+        "Room is being booked by another guest, please try again");
+
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 40;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void concurrentBookings_ShouldNeverOverlapOnTheSameRoom() throws Exception {
+        Hotel hotel = new Hotel("Stress Test Hotel", "Test City", "Concurrency fixture");
+        hotelRepository.save(hotel);
+
+        List<Room> rooms = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Room room = new Room("S" + i, "STANDARD", new BigDecimal("100.00"), hotel);
+            room.setCapacity(2);
+            rooms.add(roomRepository.save(room));
+        }
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            users.add(userRepository.save(new User("Stress", "User" + i, "stress" + i + "@test.com", "secret")));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger confirmed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Throwable> unexpected = new CopyOnWriteArrayList<>();
+        LocalDate firstNight = LocalDate.now().plusDays(1);
+
+        for (int t = 0; t < THREADS; t++) {
+            User user = users.get(t);
+            long seed = t;
+            executor.submit(() -> {
+                Random random = new Random(seed);
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    Room room = rooms.get(random.nextInt(rooms.size()));
+                    LocalDate checkIn = firstNight.plusDays(random.nextInt(30));
+                    LocalDate checkOut = checkIn.plusDays(1 + random.nextInt(4));
+                    try {
+                        bookingService.createBooking(user, room, checkIn, checkOut, 1, null);
+                        confirmed.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        if (e.getClass() == RuntimeException.class && CONFLICT_MESSAGES.contains(e.getMessage())) {
+                            rejected.incrementAndGet();
+                        } else {
+                            unexpected.add(e);
+                        }
+                    }
+                }
+                return null;
+            });
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+        double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+
+        int attempts = confirmed.get() + rejected.get() + unexpected.size();
+        log.info("Booking stress test: {} confirmed, {} rejected in {}s ({} bookings/sec, {} attempts/sec)",
+                 confirmed.get(), rejected.get(), String.format("%.2f", seconds),
+                 String.format("%.1f", confirmed.get() / seconds), String.format("%.1f", attempts / seconds));
+
+        int overlaps = 0;
+        for (Room room : rooms) {
+            List<Booking> bookings = bookingRepository.findByRoomId(room.getId()).stream()
+                .filter(b -> "CONFIRMED".equals(b.getStatus()))
+                .toList();
+            for (int i = 0; i < bookings.size(); i++) {
+                for (int j = i + 1; j < bookings.size(); j++) {
+                    Booking a = bookings.get(i);
+                    Booking b = bookings.get(j);
+                    if (a.getCheckInDate().isBefore(b.getCheckOutDate()) && b.getCheckInDate().isBefore(a.getCheckOutDate())) {
+                        overlaps++;
+                    }
+                }
+            }
+        }
+
+        assertThat(unexpected).isEmpty();
+        assertThat(confirmed.get()).isPositive();
+        assertThat(confirmed.get() + rejected.get()).isEqualTo(THREADS * ATTEMPTS_PER_THREAD);
+        assertThat(overlaps).isZero();
+    }
+}
@@ -0,0 +1,118 @@
+package com.hotel.service;
+
+import com.hotel.model.Booking;
+import com.hotel.model.Hotel;
+import com.hotel.model.Room;
+import com.hotel.model.User;
+import com.hotel.repository.BookingRepository;
+import com.hotel.repository.HotelRepository;
+import com.hotel.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Separate database so the writer thread's context does not share tables with the other test contexts
+@SpringBootTest(properties = {
+    "app.booking.pipeline.enabled=true",
+    "spring.datasource.url=jdbc:h2:mem:pipelinedb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"
+})
+@ActiveProfiles("test")
+public class BookingPipelineTest {
+
+    private static final int NIGHTS = 4;
+
+    @Autowired
+    private BookingPipeline bookingPipeline;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private Room room;
+    private User user;
+    private final LocalDate firstNight = LocalDate.now().plusDays(20);
+
+    @BeforeEach
+    void setUp() {
+        Hotel hotel = hotelRepository.save(new Hotel("Pipeline Hotel", "Pipeline City", "Pipeline fixture"));
+        Room fixture = new Room("P1", "STANDARD", new BigDecimal("90.00"), hotel);
+        fixture.setCapacity(2);
+        room = roomService.saveRoom(fixture);
+        user = userRepository.save(new User("Pipeline", "Guest", "pipeline" + System.nanoTime() + "@test.com", "secret"));
+    }
+
+    @Test
+    void overlappingRequests_ShouldCommitExactlyOneBookingPerNight() throws Exception {
+        // Every stay inside the window, so each night is asked for several times, alone and in longer stays
+        List<String> tokens = new ArrayList<>();
+        for (int round = 0; round < 3; round++) {
+            for (int from = 0; from < NIGHTS; from++) {
+                for (int to = from + 1; to <= NIGHTS; to++) {
+                    tokens.add(bookingPipeline.submit(user, room, firstNight.plusDays(from), firstNight.plusDays(to),
+                        1, null, null));
+                }
+            }
+        }
+
+        int confirmed = 0;
+        for (String token : tokens) {
+            CompletableFuture<Booking> result = bookingPipeline.getResult(token, user.getId()).orElseThrow();
+            try {
+                result.get(10, TimeUnit.SECONDS);
+                confirmed++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).hasMessage("Room is not available for the selected dates");
+            }
+        }
+
+        List<Booking> bookings = bookingRepository.findByRoomId(room.getId());
+        assertThat(bookings).hasSize(confirmed);
+        for (int night = 0; night < NIGHTS; night++) {
+            LocalDate date = firstNight.plusDays(night);
+            long covering = bookings.stream()
+                .filter(booking -> !booking.getCheckInDate().isAfter(date) && booking.getCheckOutDate().isAfter(date))
+                .count();
+            assertThat(covering).as("bookings covering night %s", date).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void conflictingRequest_ShouldBeReportedAsRejected() {
+        bookingService.createBooking(user, room, firstNight, firstNight.plusDays(2), 1, null);
+
+        String token = bookingPipeline.submit(user, room, firstNight.plusDays(1), firstNight.plusDays(3), 1, null, null);
+        CompletableFuture<Booking> result = bookingPipeline.getResult(token, user.getId()).orElseThrow();
+
+        assertThatThrownBy(() -> result.get(10, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(RuntimeException.class)
+            .cause().hasMessage("Room is not available for the selected dates");
+        // The outcome stays available to the status page after completion
+        assertThat(bookingPipeline.getResult(token, user.getId())).isPresent();
+        assertThat(bookingRepository.findByRoomId(room.getId())).hasSize(1);
+    }
+}
@@ -0,0 +1,147 @@
+package com.hotel.service;
+
+import com.hotel.dto.GroupBookingResult;
+import com.hotel.model.Hotel;
+import com.hotel.model.Room;
+import com.hotel.model.User;
+import com.hotel.repository.BookingRepository;
+import com.hotel.repository.HotelRepository;
+import com.hotel.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class GroupBookingTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private RoomAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private RoomTypeInventory roomTypeInventory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RoomHoldStore roomHolds;
+
+    private Hotel hotel;
+    private User user;
+    private final List<Room> rooms = new ArrayList<>();
+    private final LocalDate checkIn = LocalDate.now().plusDays(10);
+    private final LocalDate checkOut = LocalDate.now().plusDays(13);
+
+    @BeforeEach
+    void setUp() {
+        hotel = hotelRepository.save(new Hotel("Group Hotel", "Group City", "Group booking fixture"));
+        for (int i = 0; i < 3; i++) {
+            Room room = new Room("G" + i, "DELUXE", new BigDecimal("150.00"), hotel);
+            room.setCapacity(2);
+            rooms.add(roomService.saveRoom(room));
+        }
+        user = userRepository.save(new User("Group", "Guest", "group" + System.nanoTime() + "@test.com", "secret"));
+    }
+
+    @Test
+    void allOrNothingGroup_WithOneConflict_ShouldBookNothing() {
+        Room taken = rooms.get(1);
+        bookingService.createBooking(user, taken, checkIn.plusDays(1), checkIn.plusDays(2), 1, null);
+        List<Long> roomIds = rooms.stream().map(Room::getId).toList();
+
+        assertThatThrownBy(() -> bookingService.createGroupBooking(user, roomIds, checkIn, checkOut, 1, null, true))
+            .isInstanceOf(RuntimeException.class)
+            .hasMessageContaining(taken.getId().toString());
+
+        assertThat(bookingRepository.findByRoomId(rooms.get(0).getId())).isEmpty();
+        assertThat(bookingRepository.findByRoomId(rooms.get(2).getId())).isEmpty();
+        assertThat(bookingRepository.findByRoomId(taken.getId())).hasSize(1);
+        assertThat(availabilityIndex.isRoomAvailable(rooms.get(0).getId(), checkIn, checkOut)).isTrue();
+        assertThat(availabilityIndex.isRoomAvailable(rooms.get(2).getId(), checkIn, checkOut)).isTrue();
+        // Only the single booking made first holds a room of the type
+        assertThat(roomTypeInventory.availableCount(hotel.getId(), "DELUXE", checkIn, checkIn.plusDays(1))).isEqualTo(3);
+        assertThat(roomTypeInventory.availableCount(hotel.getId(), "DELUXE", checkIn, checkOut)).isEqualTo(2);
+    }
+
+    @Test
+    void bestEffortGroup_WithOneConflict_ShouldBookTheOthers() {
+        Room taken = rooms.get(1);
+        bookingService.createBooking(user, taken, checkIn, checkOut, 1, null);
+        List<Long> roomIds = rooms.stream().map(Room::getId).toList();
+
+        GroupBookingResult result = bookingService.createGroupBooking(user, roomIds, checkIn, checkOut, 1, null, false);
+
+        assertThat(result.getBookings()).hasSize(2);
+        assertThat(result.getRejectedRoomIds()).containsExactly(taken.getId());
+        assertThat(roomTypeInventory.availableCount(hotel.getId(), "DELUXE", checkIn, checkOut)).isZero();
+    }
+
+    @Test
+    void reload_ShouldCountRoomsWhoseTypeDiffersOnlyInCase() {
+        // Written around the entity, as rows from before types were normalized
+        jdbcTemplate.update("UPDATE rooms SET type = 'Deluxe' WHERE id = ?", rooms.get(0).getId());
+        bookingService.createBooking(user, rooms.get(0), checkIn, checkOut, 1, null);
+
+        roomTypeInventory.reload();
+
+        assertThat(roomTypeInventory.availableCount(hotel.getId(), "DELUXE", checkIn, checkOut)).isEqualTo(2);
+        assertThat(roomTypeInventory.availableCount(hotel.getId(), "deluxe", checkOut, checkOut.plusDays(1))).isEqualTo(3);
+    }
+
+    @Test
+    void availableCountsByType_ShouldLeaveOutRoomsHeldByOtherGuests() {
+        User other = userRepository.save(new User("Other", "Guest", "other" + System.nanoTime() + "@test.com", "secret"));
+        bookingService.holdRoom(other, rooms.get(0), checkIn, checkOut);
+        try {
+            assertThat(roomService.getAvailableCountsByType(hotel.getId(), checkIn, checkOut)).containsEntry("DELUXE", 2);
+            // Same answer as the room listing, which drops held rooms
+            assertThat(roomService.getAvailableRoomsByHotelAndDates(hotel.getId(), checkIn, checkOut)).hasSize(2);
+            assertThat(roomService.getAvailableCountsByType(hotel.getId(), checkOut, checkOut.plusDays(1)))
+                .containsEntry("DELUXE", 3);
+        } finally {
+            roomHolds.release(other.getId(), rooms.get(0).getId());
+        }
+    }
+
+    @Test
+    void createBooking_ShouldRefuseARoomHeldByAnotherGuest() {
+        User other = userRepository.save(new User("Holding", "Guest", "holding" + System.nanoTime() + "@test.com", "secret"));
+        bookingService.holdRoom(other, rooms.get(0), checkIn, checkOut);
+        try {
+            assertThatThrownBy(() -> bookingService.createBooking(user, rooms.get(0), checkIn, checkOut, 1, null))
+                .hasMessage("Room is currently held by another guest, please try again later");
+            assertThat(bookingRepository.findByRoomId(rooms.get(0).getId())).isEmpty();
+            // The counter taken before the check is given back
+            assertThat(roomTypeInventory.availableCount(hotel.getId(), "DELUXE", checkIn, checkOut)).isEqualTo(3);
+        } finally {
+            roomHolds.release(other.getId(), rooms.get(0).getId());
+        }
+    }
+}
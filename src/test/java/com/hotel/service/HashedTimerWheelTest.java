@@ -0,0 +1,52 @@
+package com.hotel.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HashedTimerWheelTest {
+
+    @Test
+    void testTimeoutFiresOnItsTick() {
+        HashedTimerWheel<String> wheel = new HashedTimerWheel<>(8, 100);
+        List<String> expired = new ArrayList<>();
+        wheel.schedule("a", 250);
+
+        wheel.tick(expired::add);
+        wheel.tick(expired::add);
+        assertThat(expired).isEmpty();
+
+        wheel.tick(expired::add);
+        assertThat(expired).containsExactly("a");
+    }
+
+    @Test
+    void testTimeoutBeyondOneRevolutionWaitsExtraRounds() {
+        HashedTimerWheel<String> wheel = new HashedTimerWheel<>(4, 10);
+        List<String> expired = new ArrayList<>();
+        wheel.schedule("late", 100);
+
+        for (int i = 0; i < 9; i++) {
+            wheel.tick(expired::add);
+        }
+        assertThat(expired).isEmpty();
+
+        wheel.tick(expired::add);
+        assertThat(expired).containsExactly("late");
+    }
+
+    @Test
+    void testCancelledTimeoutNeverFires() {
+        HashedTimerWheel<String> wheel = new HashedTimerWheel<>(8, 10);
+        List<String> expired = new ArrayList<>();
+        wheel.schedule("a", 10).cancel();
+        wheel.schedule("b", 10);
+
+        wheel.tick(expired::add);
+
+        assertThat(expired).containsExactly("b");
+    }
+}
@@ -0,0 +1,60 @@
+package com.hotel.service;
+
+import com.hotel.dto.HotelSort;
+import com.hotel.model.Hotel;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HotelCursorTest {
+
+    @Test
+    void testEncodeDecodeRoundTrip() {
+        HotelCursor decoded = HotelCursor.decode(new HotelCursor(HotelSort.RATING, 4.5, 42L).encode(), HotelSort.RATING);
+        assertThat(decoded.getKey()).isEqualTo(4.5);
+        assertThat(decoded.getId()).isEqualTo(42L);
+
+        HotelCursor unrated = HotelCursor.decode(new HotelCursor(HotelSort.RATING, null, 7L).encode(), HotelSort.RATING);
+        assertThat(unrated.getKey()).isNull();
+        assertThat(unrated.getId()).isEqualTo(7L);
+    }
+
+    @Test
+    void testMalformedOrForeignTokenMeansFirstPage() {
+        assertThat(HotelCursor.decode(null, HotelSort.RATING)).isNull();
+        assertThat(HotelCursor.decode("", HotelSort.RATING)).isNull();
+        assertThat(HotelCursor.decode("not a cursor", HotelSort.RATING)).isNull();
+        assertThat(HotelCursor.decode("YWJj", HotelSort.RATING)).isNull();
+        String priceToken = new HotelCursor(HotelSort.PRICE_LOW, 120.0, 3L).encode();
+        assertThat(HotelCursor.decode(priceToken, HotelSort.RATING)).isNull();
+    }
+
+    @Test
+    void testPrecedesFollowsRatingOrder() {
+        HotelCursor cursor = new HotelCursor(HotelSort.RATING, 4.0, 10L);
+        assertThat(cursor.precedes(hotel(1L, 3.5, null))).isTrue();
+        assertThat(cursor.precedes(hotel(11L, 4.0, null))).isTrue();
+        assertThat(cursor.precedes(hotel(10L, 4.0, null))).isFalse();
+        assertThat(cursor.precedes(hotel(9L, 4.0, null))).isFalse();
+        assertThat(cursor.precedes(hotel(99L, 4.5, null))).isFalse();
+        // Unrated hotels come after every rated one
+        assertThat(cursor.precedes(hotel(1L, null, null))).isTrue();
+        assertThat(new HotelCursor(HotelSort.RATING, null, 5L).precedes(hotel(1L, 0.0, null))).isFalse();
+    }
+
+    @Test
+    void testPrecedesFollowsAscendingPriceOrder() {
+        HotelCursor cursor = new HotelCursor(HotelSort.PRICE_LOW, 100.0, 10L);
+        assertThat(cursor.precedes(hotel(1L, null, 150.0))).isTrue();
+        assertThat(cursor.precedes(hotel(1L, null, 80.0))).isFalse();
+        assertThat(cursor.precedes(hotel(1L, null, null))).isTrue();
+    }
+
+    private static Hotel hotel(Long id, Double rating, Double price) {
+        Hotel hotel = new Hotel();
+        hotel.setId(id);
+        hotel.setRating(rating);
+        hotel.setStartingPrice(price);
+        return hotel;
+    }
+}
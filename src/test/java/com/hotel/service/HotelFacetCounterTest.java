@@ -0,0 +1,75 @@
+package com.hotel.service;
+
+import com.hotel.dto.FacetCount;
+import com.hotel.dto.HotelFacets;
+import com.hotel.dto.HotelSearchCriteria;
+import com.hotel.model.Hotel;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+public class HotelFacetCounterTest {
+
+    @Test
+    void testCountsEveryFacetInOnePass() {
+        HotelFacetCounter counter = new HotelFacetCounter(10);
+        counter.add(hotel("Paris", 4.7, 90.0), Set.of("SUITE", "DELUXE"));
+        counter.add(hotel("Paris", 4.2, 150.0), Set.of("DELUXE"));
+        counter.add(hotel("Rome", 3.0, 350.0), Set.of());
+        counter.add(hotel("Rome", null, null), Set.of("SINGLE"));
+        counter.add(hotel("Paris", 3.6, 200.0), Set.of("DELUXE"));
+
+        HotelFacets facets = counter.toFacets();
+
+        assertThat(facets.getTotal()).isEqualTo(5);
+        assertThat(facets.getLocations()).extracting(FacetCount::getLabel, FacetCount::getCount)
+            .containsExactly(tuple("Paris", 3L), tuple("Rome", 2L));
+        // Rating facets are cumulative thresholds
+        assertThat(facets.getRatings()).extracting(FacetCount::getMin, FacetCount::getCount)
+            .containsExactly(tuple(4.5, 1L), tuple(4.0, 2L), tuple(3.5, 3L), tuple(3.0, 4L));
+        assertThat(facets.getPrices()).extracting(FacetCount::getLabel, FacetCount::getCount)
+            .containsExactly(tuple("under $100", 1L), tuple("$100-$200", 1L),
+                             tuple("$200-$300", 1L), tuple("$300+", 1L));
+        assertThat(facets.getPrices()).extracting(FacetCount::getMin, FacetCount::getMax)
+            .containsExactly(tuple(null, 99.99), tuple(100.0, 199.99), tuple(200.0, 299.99), tuple(300.0, null));
+        assertThat(facets.getRoomTypes()).extracting(FacetCount::getValue)
+            .containsExactly("DELUXE", "SINGLE", "SUITE");
+    }
+
+    @Test
+    void testPriceBandLinksMatchWhatTheyCount() {
+        HotelFacetCounter counter = new HotelFacetCounter(10);
+        counter.add(hotel("Paris", null, 150.0), Set.of());
+        HotelFacets facets = counter.toFacets();
+        FacetCount band = facets.getPrices().get(0);
+        HotelSearchCriteria criteria = new HotelSearchCriteria();
+        criteria.setMinPrice(band.getMin());
+        criteria.setMaxPrice(band.getMax());
+
+        // A hotel on the upper edge is counted in the next band, so the link must leave it out
+        assertThat(HotelCatalog.withinBounds(hotel("Paris", null, 199.99), criteria)).isTrue();
+        assertThat(HotelCatalog.withinBounds(hotel("Paris", null, 200.0), criteria)).isFalse();
+    }
+
+    @Test
+    void testCapsValueFacetsToMostFrequent() {
+        HotelFacetCounter counter = new HotelFacetCounter(2);
+        for (String location : List.of("Oslo", "Lima", "Lima", "Kyiv", "Kyiv", "Kyiv")) {
+            counter.add(hotel(location, null, null), Set.of());
+        }
+
+        assertThat(counter.toFacets().getLocations()).extracting(FacetCount::getValue)
+            .containsExactly("Kyiv", "Lima");
+    }
+
+    private static Hotel hotel(String location, Double rating, Double price) {
+        Hotel hotel = new Hotel("Hotel", location, null);
+        hotel.setRating(rating);
+        hotel.setStartingPrice(price);
+        return hotel;
+    }
+}
@@ -0,0 +1,77 @@
+package com.hotel.service;
+
+import com.hotel.dto.NearbyHotel;
+import com.hotel.model.Hotel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HotelGeoIndexTest {
+
+    private final HotelGeoIndex index = new HotelGeoIndex(0.1);
+
+    @Test
+    void testRadiusSearchReturnsNearestFirst() {
+        index.rebuild(List.of(
+            hotel(1L, 48.8584, 2.2945),    // Eiffel Tower
+            hotel(2L, 48.8606, 2.3376),    // Louvre
+            hotel(3L, 48.8049, 2.1204),    // Versailles, about 18 km out
+            hotel(4L, 51.5007, -0.1246),   // London
+            hotel(5L, null, null)));
+
+        List<NearbyHotel> nearby = index.withinRadius(48.8566, 2.3522, 5, 10);
+
+        assertThat(nearby).extracting(NearbyHotel::getHotelId).containsExactly(2L, 1L);
+        assertThat(nearby.get(0).getDistanceKm()).isBetween(1.0, 1.5);
+        assertThat(index.withinRadius(48.8566, 2.3522, 25, 10)).extracting(NearbyHotel::getHotelId)
+            .containsExactly(2L, 1L, 3L);
+        assertThat(index.withinRadius(48.8566, 2.3522, 25, 1)).hasSize(1);
+    }
+
+    @Test
+    void testBoxSearchCrossesAntimeridian() {
+        index.rebuild(List.of(
+            hotel(1L, -17.7, 178.4),   // Fiji
+            hotel(2L, -13.8, -171.8),  // Samoa
+            hotel(3L, -17.5, -149.6))); // Tahiti
+
+        assertThat(index.withinBox(-20, 175, -10, -170, 10)).extracting(NearbyHotel::getHotelId)
+            .containsExactlyInAnyOrder(1L, 2L);
+        // Tahiti is nearer the centre of this box than Samoa
+        assertThat(index.withinBox(-20, -175, -10, -140, 10)).extracting(NearbyHotel::getHotelId)
+            .containsExactly(3L, 2L);
+        assertThat(index.withinRadius(-17.7, -179.5, 250, 10)).extracting(NearbyHotel::getHotelId)
+            .containsExactly(1L);
+    }
+
+    @Test
+    void testRadiusSearchMatchesFullScan() {
+        Random random = new Random(7);
+        List<Hotel> hotels = new ArrayList<>();
+        for (long id = 1; id <= 2000; id++) {
+            hotels.add(hotel(id, 40 + random.nextDouble() * 2, -74 + random.nextDouble() * 2));
+        }
+        index.rebuild(hotels);
+
+        List<Long> expected = hotels.stream()
+            .filter(hotel -> HotelGeoIndex.distanceKm(41, -73, hotel.getLatitude(), hotel.getLongitude()) <= 30)
+            .sorted(Comparator.comparingDouble(hotel -> HotelGeoIndex.distanceKm(41, -73, hotel.getLatitude(), hotel.getLongitude())))
+            .map(Hotel::getId)
+            .toList();
+        assertThat(index.withinRadius(41, -73, 30, Integer.MAX_VALUE)).extracting(NearbyHotel::getHotelId)
+            .containsExactlyElementsOf(expected);
+    }
+
+    private static Hotel hotel(Long id, Double latitude, Double longitude) {
+        Hotel hotel = new Hotel("Hotel " + id, "Somewhere", null);
+        hotel.setId(id);
+        hotel.setLatitude(latitude);
+        hotel.setLongitude(longitude);
+        return hotel;
+    }
+}
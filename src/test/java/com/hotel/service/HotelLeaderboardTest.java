@@ -0,0 +1,58 @@
+package com.hotel.service;
+
+import com.hotel.model.Hotel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HotelLeaderboardTest {
+
+    private final HotelLeaderboard leaderboard = new HotelLeaderboard(true);
+
+    @BeforeEach
+    void setUp() {
+        leaderboard.rebuild(List.of(
+            hotel(1L, "Paris, France", 4.2),
+            hotel(2L, "Rome, Italy", 4.9),
+            hotel(3L, "Paris, France", 4.6),
+            hotel(4L, "Rome, Italy", 3.1),
+            hotel(5L, "Paris", null)));
+    }
+
+    @Test
+    void testTopKGloballyAndPerCity() {
+        assertThat(leaderboard.top(3)).extracting(Hotel::getId).containsExactly(2L, 3L, 1L);
+        assertThat(leaderboard.top(10)).extracting(Hotel::getId).containsExactly(2L, 3L, 1L, 4L);
+        assertThat(leaderboard.top("paris", 10)).extracting(Hotel::getId).containsExactly(3L, 1L);
+        assertThat(leaderboard.top("Rome, Italy", 1)).extracting(Hotel::getId).containsExactly(2L);
+        assertThat(leaderboard.top("Oslo", 5)).isEmpty();
+        assertThat(leaderboard.top(0)).isEmpty();
+        assertThat(leaderboard.top(-1)).isEmpty();
+        assertThat(leaderboard.top("Paris", -5)).isEmpty();
+    }
+
+    @Test
+    void testRatingChangeMovesTheHotel() {
+        leaderboard.update(hotel(4L, "Rome, Italy", 5.0));
+        assertThat(leaderboard.top(2)).extracting(Hotel::getId).containsExactly(4L, 2L);
+
+        // Moving to another city changes boards
+        leaderboard.update(hotel(1L, "Rome, Italy", 4.2));
+        assertThat(leaderboard.top("Paris", 10)).extracting(Hotel::getId).containsExactly(3L);
+        assertThat(leaderboard.top("Rome", 10)).extracting(Hotel::getId).containsExactly(4L, 2L, 1L);
+
+        leaderboard.update(hotel(2L, "Rome, Italy", null));
+        leaderboard.remove(3L);
+        assertThat(leaderboard.top(10)).extracting(Hotel::getId).containsExactly(4L, 1L);
+    }
+
+    private static Hotel hotel(Long id, String location, Double rating) {
+        Hotel hotel = new Hotel("Hotel " + id, location, null);
+        hotel.setId(id);
+        hotel.setRating(rating);
+        return hotel;
+    }
+}
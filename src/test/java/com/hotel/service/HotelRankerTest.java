@@ -0,0 +1,99 @@
+package com.hotel.service;
+
+import com.hotel.model.Hotel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class HotelRankerTest {
+
+    private List<Hotel> hotels;
+    private HotelRanker ranker;
+
+    @BeforeEach
+    void setUp() {
+        hotels = List.of(
+            hotel(1L, 5.0, 300.0, 2),
+            hotel(2L, 3.0, 100.0, 9),
+            hotel(3L, 4.0, 200.0, 0),
+            hotel(4L, null, null, null));
+        MockEnvironment environment = new MockEnvironment()
+            .withProperty("app.ranking.weights.relevance", "0")
+            .withProperty("app.ranking.weights.price", "0")
+            .withProperty("app.ranking.weights.availability", "0");
+        ranker = new HotelRanker(List.of(new RelevanceScorer(), new RatingScorer(), new PriceScorer(),
+                                         new AvailabilityScorer()), environment);
+    }
+
+    @Test
+    void testRankingFollowsTheWeights() {
+        RankingContext context = new RankingContext(hotels, null, null);
+        assertThat(rank(context, 10)).containsExactly(1L, 3L, 2L, 4L);
+        assertThat(rank(context, 2)).containsExactly(1L, 3L);
+
+        // Weights change without a restart
+        ranker.setWeight("price", 10.0);
+        assertThat(rank(context, 10)).containsExactly(2L, 3L, 1L, 4L);
+        ranker.setWeight("price", 0.0);
+        ranker.setWeight("rating", 0.0);
+        ranker.setWeight("availability", 1.0);
+        assertThat(rank(context, 10)).containsExactly(2L, 1L, 3L, 4L);
+    }
+
+    @Test
+    void testTextRelevanceAndFreeRooms() {
+        ranker.setWeight("relevance", 5.0);
+        RankingContext context = new RankingContext(hotels, Map.of(3L, 4.0, 2L, 1.0), null);
+        assertThat(rank(context, 10)).containsExactly(3L, 2L, 1L, 4L);
+
+        ranker.setWeight("relevance", 0.0);
+        ranker.setWeight("rating", 0.0);
+        ranker.setWeight("availability", 1.0);
+        context = new RankingContext(hotels, null, Map.of(3L, 5L, 4L, 1L));
+        assertThat(rank(context, 10)).containsExactly(3L, 4L, 1L, 2L);
+    }
+
+    @Test
+    void testInvalidWeightsAreRejected() {
+        assertThatThrownBy(() -> ranker.setWeight("distance", 1.0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ranker.setWeight("rating", -1.0)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(ranker.getWeights()).containsEntry("rating", 1.0).containsEntry("price", 0.0);
+    }
+
+    @Test
+    void testTopKMatchesAFullSort() {
+        Random random = new Random(7);
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            values.add(random.nextInt(500));
+        }
+        for (int k : new int[]{0, 1, 10, 999, 1000, 2000}) {
+            TopK<Integer> best = new TopK<>(k, Comparator.reverseOrder());
+            values.forEach(best::offer);
+            assertThat(best.toList()).isEqualTo(values.stream().sorted(Comparator.reverseOrder()).limit(k).toList());
+        }
+    }
+
+    private List<Long> rank(RankingContext context, int k) {
+        return ranker.top(hotels, Function.identity(), context, k).stream().map(Hotel::getId).toList();
+    }
+
+    private static Hotel hotel(Long id, Double rating, Double price, Integer rooms) {
+        Hotel hotel = new Hotel("Hotel " + id, "Paris", null);
+        hotel.setId(id);
+        hotel.setRating(rating);
+        hotel.setStartingPrice(price);
+        hotel.setRoomCount(rooms);
+        return hotel;
+    }
+}
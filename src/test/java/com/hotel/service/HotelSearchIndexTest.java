@@ -0,0 +1,55 @@
+package com.hotel.service;
+
+import com.hotel.model.Hotel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HotelSearchIndexTest {
+
+    private final HotelSearchIndex index = new HotelSearchIndex();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(index, "enabled", true);
+        index.rebuild(List.of(
+            hotel(1L, "Seaside Resort", "Miami, FL", "Beachfront rooms with ocean views", "Pool,Spa"),
+            hotel(2L, "City Business Hotel", "New York, NY", "Close to the beach subway line", "WiFi,Gym"),
+            hotel(3L, "Mountain Lodge", "Aspen, CO", "Cozy lodge for skiing", "Fireplace,Spa")));
+    }
+
+    @Test
+    void testNameMatchesRankAboveDescriptionMatches() {
+        assertThat(index.search("seaside", 10)).containsExactly(1L);
+        assertThat(index.search("spa lodge", 10)).first().isEqualTo(3L);
+    }
+
+    @Test
+    void testPrefixMatchesLongerTerms() {
+        assertThat(index.search("beach", 10)).containsExactly(2L, 1L);
+        assertThat(index.search("moun", 10)).containsExactly(3L);
+    }
+
+    @Test
+    void testIndexAndRemoveUpdateResults() {
+        index.index(hotel(4L, "Harbor Inn", "Boston, MA", "Historic harbor views", "WiFi"));
+        assertThat(index.search("harbor", 10)).containsExactly(4L);
+
+        index.index(hotel(4L, "Dockside Inn", "Boston, MA", "Historic views", "WiFi"));
+        assertThat(index.search("harbor", 10)).isEmpty();
+
+        index.remove(4L);
+        assertThat(index.search("dockside", 10)).isEmpty();
+    }
+
+    private static Hotel hotel(Long id, String name, String location, String description, String amenities) {
+        Hotel hotel = new Hotel(name, location, description);
+        hotel.setId(id);
+        hotel.setAmenities(amenities);
+        return hotel;
+    }
+}
@@ -0,0 +1,55 @@
+package com.hotel.service;
+
+import com.hotel.dto.SearchSuggestion;
+import com.hotel.model.Hotel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HotelSuggestIndexTest {
+
+    private final HotelSuggestIndex index = new HotelSuggestIndex(10);
+
+    @BeforeEach
+    void setUp() {
+        index.rebuild(List.of(
+            hotel(1L, "Grand Palace", "Paris, France", 4.2),
+            hotel(2L, "Grand Budapest", "Budapest, Hungary", 4.9),
+            hotel(3L, "Paradise Inn", "Miami, FL", 3.5),
+            hotel(4L, "Le Petit Paris", "Paris, France", 4.6)));
+    }
+
+    @Test
+    void testPrefixReturnsBestRatedFirst() {
+        assertThat(index.suggest("gra", 10))
+            .extracting(SearchSuggestion::getHotelId)
+            .containsExactly(2L, 1L);
+    }
+
+    @Test
+    void testMatchesLaterWordsAndCities() {
+        List<SearchSuggestion> suggestions = index.suggest("par", 10);
+
+        // Le Petit Paris, the city Paris (rated by its best hotel), Paradise Inn
+        assertThat(suggestions).extracting(SearchSuggestion::getText)
+            .containsExactly("Le Petit Paris", "Paris", "Paradise Inn");
+        assertThat(suggestions.get(1).getType()).isEqualTo(HotelSuggestIndex.TYPE_CITY);
+    }
+
+    @Test
+    void testLimitAndUnknownPrefix() {
+        assertThat(index.suggest("p", 1)).hasSize(1);
+        assertThat(index.suggest("zz", 10)).isEmpty();
+        assertThat(index.suggest("  ", 10)).isEmpty();
+    }
+
+    private static Hotel hotel(Long id, String name, String location, double rating) {
+        Hotel hotel = new Hotel(name, location, "");
+        hotel.setId(id);
+        hotel.setRating(rating);
+        return hotel;
+    }
+}
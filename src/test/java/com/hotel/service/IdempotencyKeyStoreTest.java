@@ -0,0 +1,53 @@
+package com.hotel.service;
+
+import com.hotel.model.Booking;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IdempotencyKeyStoreTest {
+
+    @Test
+    void testDuplicateKeyReturnsFirstResult() {
+        IdempotencyKeyStore store = new IdempotencyKeyStore(10, 60_000);
+        CompletableFuture<Booking> first = new CompletableFuture<>();
+
+        assertThat(store.putIfAbsent(1L, "abc", first)).isNull();
+        assertThat(store.putIfAbsent(1L, "abc", new CompletableFuture<>())).isSameAs(first);
+        // Keys are scoped per user
+        assertThat(store.putIfAbsent(2L, "abc", new CompletableFuture<>())).isNull();
+    }
+
+    @Test
+    void testRemovedKeyCanBeReused() {
+        IdempotencyKeyStore store = new IdempotencyKeyStore(10, 60_000);
+        CompletableFuture<Booking> failed = new CompletableFuture<>();
+        store.putIfAbsent(1L, "abc", failed);
+
+        store.remove(1L, "abc", failed);
+
+        assertThat(store.putIfAbsent(1L, "abc", new CompletableFuture<>())).isNull();
+    }
+
+    @Test
+    void testOldestKeysAreEvictedWhenFull() {
+        IdempotencyKeyStore store = new IdempotencyKeyStore(2, 60_000);
+        store.putIfAbsent(1L, "a", new CompletableFuture<>());
+        store.putIfAbsent(1L, "b", new CompletableFuture<>());
+        store.putIfAbsent(1L, "c", new CompletableFuture<>());
+
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.putIfAbsent(1L, "a", new CompletableFuture<>())).isNull();
+    }
+
+    @Test
+    void testExpiredKeysAreForgotten() throws InterruptedException {
+        IdempotencyKeyStore store = new IdempotencyKeyStore(10, 1);
+        store.putIfAbsent(1L, "abc", new CompletableFuture<>());
+        Thread.sleep(5);
+
+        assertThat(store.putIfAbsent(1L, "abc", new CompletableFuture<>())).isNull();
+    }
+}
@@ -0,0 +1,111 @@
+package com.hotel.service;
+
+import com.hotel.model.Hotel;
+import com.hotel.model.Room;
+import com.hotel.repository.BookingRepository;
+import com.hotel.repository.RoomRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class RoomAvailabilityIndexTest {
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @InjectMocks
+    private RoomAvailabilityIndex index;
+
+    private final LocalDate today = LocalDate.now();
+    private final List<Object[]> stays = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "horizonDays", 365);
+
+        List<Object[]> rooms = new ArrayList<>();
+        rooms.add(new Object[]{1L, 10L, true});
+        rooms.add(new Object[]{2L, 10L, true});
+        rooms.add(new Object[]{3L, 10L, false});
+        when(roomRepository.findAllAvailabilityRows()).thenReturn(rooms);
+
+        stays.add(new Object[]{1L, today.plusDays(5), today.plusDays(8)});
+        when(bookingRepository.findConfirmedStaysEndingAfter(any(LocalDate.class))).thenReturn(stays);
+
+        index.load();
+    }
+
+    @Test
+    void findAvailableRoomIds_ShouldExcludeOverlappingAndUnavailableRooms() {
+        List<Long> free = index.findAvailableRoomIds(10L, today.plusDays(6), today.plusDays(7));
+
+        assertThat(free).containsExactly(2L);
+    }
+
+    @Test
+    void findAvailableRoomIds_ShouldTreatCheckOutDayAsFree() {
+        List<Long> free = index.findAvailableRoomIds(10L, today.plusDays(8), today.plusDays(10));
+
+        assertThat(free).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void markBookedAndRelease_ShouldUpdateOccupancy() {
+        index.markBooked(2L, today.plusDays(1), today.plusDays(3));
+        assertThat(index.isRoomAvailable(2L, today.plusDays(2), today.plusDays(4))).isFalse();
+
+        index.release(2L, today.plusDays(1), today.plusDays(3));
+        assertThat(index.isRoomAvailable(2L, today.plusDays(2), today.plusDays(4))).isTrue();
+    }
+
+    @Test
+    void registerRoom_ShouldMoveRoomToItsNewHotel() {
+        Hotel other = new Hotel("Other", "Rome", null);
+        other.setId(20L);
+        Room moved = new Room("101", "STANDARD", BigDecimal.TEN, other);
+        moved.setId(1L);
+
+        index.registerRoom(moved);
+
+        assertThat(index.findAvailableRoomIds(10L, today.plusDays(1), today.plusDays(2))).containsExactly(2L);
+        assertThat(index.findAvailableRoomIds(20L, today.plusDays(1), today.plusDays(2))).containsExactly(1L);
+        // Its booked nights move with it
+        assertThat(index.findAvailableRoomIds(20L, today.plusDays(6), today.plusDays(7))).isEmpty();
+    }
+
+    @Test
+    void canAnswer_ShouldRejectStaysOutsideIndexedWindow() {
+        assertThat(index.canAnswer(today, today.plusDays(2))).isTrue();
+        assertThat(index.canAnswer(today.minusDays(10), today.minusDays(8))).isFalse();
+        assertThat(index.canAnswer(today.plusDays(400), today.plusDays(402))).isFalse();
+    }
+
+    @Test
+    void verifyAgainstDatabase_ShouldReportAndRepairDrift() {
+        index.markBooked(2L, today.plusDays(1), today.plusDays(3));
+
+        int mismatches = index.verifyAgainstDatabase();
+
+        assertThat(mismatches).isEqualTo(1);
+        assertThat(index.isRoomAvailable(2L, today.plusDays(1), today.plusDays(3))).isTrue();
+        assertThat(index.verifyAgainstDatabase()).isZero();
+    }
+}
@@ -0,0 +1,87 @@
+package com.hotel.service;
+
+import com.hotel.dto.RoomHold;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RoomHoldStoreTest {
+
+    private RoomHoldStore store;
+    private final LocalDate checkIn = LocalDate.of(2030, 5, 1);
+    private final LocalDate checkOut = LocalDate.of(2030, 5, 4);
+
+    @BeforeEach
+    void setUp() {
+        // 250 ms holds on a 100 ms wheel expire on the third tick
+        store = new RoomHoldStore(true, 250, 100, 8);
+    }
+
+    @Test
+    void place_ShouldHoldTheRoomAgainstOtherGuestsOnly() {
+        RoomHold hold = store.place(1L, 10L, checkIn, checkOut);
+
+        assertThat(hold).isNotNull();
+        assertThat(store.isHeldByOther(10L, checkIn.plusDays(2), checkOut.plusDays(2), 2L)).isTrue();
+        assertThat(store.isHeldByOther(10L, checkIn, checkOut, 1L)).isFalse();
+        // Check-out day is free for the next guest
+        assertThat(store.isHeldByOther(10L, checkOut, checkOut.plusDays(1), 2L)).isFalse();
+        assertThat(store.place(2L, 10L, checkIn.plusDays(1), checkOut)).isNull();
+        assertThat(store.findHeldRoomIds(List.of(10L, 11L), checkIn, checkOut, 2L)).containsExactly(10L);
+    }
+
+    @Test
+    void place_ShouldReplaceTheGuestsPreviousHold() {
+        store.place(1L, 10L, checkIn, checkOut);
+        store.place(1L, 11L, checkIn, checkOut);
+
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.isHeldByOther(10L, checkIn, checkOut, 2L)).isFalse();
+        assertThat(store.isHeldByOther(11L, checkIn, checkOut, 2L)).isTrue();
+        assertThat(store.findHold(1L).getRoomId()).isEqualTo(11L);
+    }
+
+    @Test
+    void tick_ShouldExpireHoldsThroughTheWheel() {
+        store.place(1L, 10L, checkIn, checkOut);
+
+        store.tick();
+        store.tick();
+        assertThat(store.isHeldByOther(10L, checkIn, checkOut, 2L)).isTrue();
+
+        store.tick();
+        assertThat(store.isHeldByOther(10L, checkIn, checkOut, 2L)).isFalse();
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void tick_ShouldNotExpireAReplacementHoldEarly() {
+        store.place(1L, 10L, checkIn, checkOut);
+        store.tick();
+        store.place(1L, 10L, checkIn, checkOut);
+
+        // The first hold's slot comes round, but only its own (cancelled) timeout sits there
+        store.tick();
+        store.tick();
+        assertThat(store.isHeldByOther(10L, checkIn, checkOut, 2L)).isTrue();
+
+        store.tick();
+        assertThat(store.isHeldByOther(10L, checkIn, checkOut, 2L)).isFalse();
+    }
+
+    @Test
+    void release_ShouldOnlyDropTheGuestsHoldOnThatRoom() {
+        store.place(1L, 10L, checkIn, checkOut);
+
+        store.release(1L, 11L);
+        assertThat(store.size()).isEqualTo(1);
+
+        store.release(1L, 10L);
+        assertThat(store.size()).isZero();
+        assertThat(store.findHeldStays(List.of(10L), checkIn, checkOut, null)).isEmpty();
+    }
+}
@@ -0,0 +1,173 @@
+package com.hotel.service;
+
+import com.hotel.model.Hotel;
+import com.hotel.model.Room;
+import com.hotel.repository.BookingRepository;
+import com.hotel.repository.RoomRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class RoomTypeInventoryTest {
+
+    private static final int SUITES = 5;
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @InjectMocks
+    private RoomTypeInventory inventory;
+
+    private final LocalDate today = LocalDate.now();
+    private final List<Object[]> counts = new ArrayList<>();
+    private final List<Object[]> stays = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(inventory, "enabled", true);
+        ReflectionTestUtils.setField(inventory, "horizonDays", 60);
+
+        counts.add(new Object[]{1L, "SUITE", (long) SUITES});
+        counts.add(new Object[]{1L, "STANDARD", 1L});
+        when(roomRepository.countAvailableRoomsByHotelAndType()).thenReturn(counts);
+        // The only standard room is booked on the night of day 3
+        stays.add(new Object[]{1L, "STANDARD", today.plusDays(3), today.plusDays(4)});
+        when(bookingRepository.findConfirmedTypeStaysEndingAfter(any(LocalDate.class))).thenReturn(stays);
+
+        inventory.reload();
+    }
+
+    @Test
+    void tryReserve_ShouldRollBackEarlierNightsWhenOneIsSoldOut() {
+        assertThat(inventory.tryReserve(1L, "STANDARD", day(1), day(5))).isFalse();
+
+        // Nights 1 and 2 were claimed and then given back
+        assertThat(inventory.availableCount(1L, "STANDARD", day(1), day(3))).isEqualTo(1);
+        assertThat(inventory.availableCount(1L, "STANDARD", day(4), day(5))).isEqualTo(1);
+        assertThat(inventory.tryReserve(1L, "standard", day(1), day(3))).isTrue();
+        assertThat(inventory.availableCount(1L, "STANDARD", day(1), day(3))).isZero();
+    }
+
+    @Test
+    void release_ShouldReturnTheRoomOnEveryNight() {
+        assertThat(inventory.tryReserve(1L, "SUITE", day(2), day(6))).isTrue();
+        assertThat(inventory.availableCount(1L, "SUITE", day(5), day(6))).isEqualTo(SUITES - 1);
+
+        inventory.release(1L, "SUITE", day(2), day(6));
+
+        assertThat(inventory.availableCount(1L, "SUITE", day(1), day(10))).isEqualTo(SUITES);
+    }
+
+    @Test
+    void concurrentReservations_ShouldNeverExceedCapacity() throws Exception {
+        int threads = 32;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger reserved = new AtomicInteger();
+        for (int t = 0; t < threads; t++) {
+            int offset = t % 3;
+            executor.submit(() -> {
+                start.await();
+                // Overlapping stays that all share night 5
+                if (inventory.tryReserve(1L, "SUITE", day(3 + offset), day(6 + offset))) {
+                    reserved.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(reserved.get()).isEqualTo(SUITES);
+        assertThat(inventory.availableCount(1L, "SUITE", day(5), day(6))).isZero();
+    }
+
+    @Test
+    void reload_ShouldWaitForAChangeInProgress() throws Exception {
+        CountDownLatch reservedLatch = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<Boolean> booking = executor.submit(() -> inventory.withoutReload(() -> {
+            boolean ok = inventory.tryReserve(1L, "SUITE", day(2), day(4));
+            reservedLatch.countDown();
+            await(commit);
+            // The booking commits before the change ends
+            stays.add(new Object[]{1L, "SUITE", day(2), day(4)});
+            return ok;
+        }));
+        assertThat(reservedLatch.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<?> reload = executor.submit(inventory::reload);
+
+        assertThatThrownBy(() -> reload.get(200, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+        commit.countDown();
+        assertThat(booking.get(5, TimeUnit.SECONDS)).isTrue();
+        reload.get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // Counted once: by the reload, which read the committed booking
+        assertThat(inventory.availableCount(1L, "SUITE", day(2), day(4))).isEqualTo(SUITES - 1);
+    }
+
+    @Test
+    void moveRoom_ShouldShiftTheRoomAndItsStaysToTheNewType() {
+        Hotel hotel = new Hotel("Hotel", "Paris", null);
+        hotel.setId(1L);
+        Room before = new Room("101", "STANDARD", BigDecimal.TEN, hotel);
+        Room after = new Room("101", "FAMILY", BigDecimal.TEN, hotel);
+        when(bookingRepository.findConfirmedStaysForRoom(anyLong(), any(LocalDate.class), any(LocalDate.class)))
+            .thenReturn(List.<Object[]>of(new Object[]{today.plusDays(3), today.plusDays(4)}));
+
+        inventory.moveRoom(7L, before, after);
+
+        assertThat(inventory.availableCount(1L, "STANDARD", day(1), day(10))).isZero();
+        assertThat(inventory.availableCount(1L, "FAMILY", day(1), day(3))).isEqualTo(1);
+        assertThat(inventory.availableCount(1L, "FAMILY", day(3), day(4))).isZero();
+
+        // Marked unavailable: it no longer counts anywhere
+        after.setAvailable(false);
+        inventory.moveRoom(7L, new Room("101", "FAMILY", BigDecimal.TEN, hotel), after);
+        assertThat(inventory.availableCount(1L, "FAMILY", day(1), day(10))).isZero();
+    }
+
+    private LocalDate day(int days) {
+        return today.plusDays(days);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}